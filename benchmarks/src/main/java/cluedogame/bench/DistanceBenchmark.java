@@ -0,0 +1,61 @@
+package cluedogame.bench;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import cluedogame.Board;
+import cluedogame.bench.PathfindingBenchmark.Route;
+import cluedogame.sqaures.Square;
+
+/**
+ * Measures looking up the moves between squares on the real board, for
+ * the same routes as PathfindingBenchmark. These distances ignore the
+ * players, so unlike the path searches they are not measured with a
+ * player in the way.
+ * Must be run from the folder containing boardFile.txt.
+ * @author Sarah Dobie, Chris Read
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DistanceBenchmark {
+
+	@Param
+	public Route route;
+
+	private Board board;
+	private Square start;
+	private Square goal;
+
+	@Setup
+	public void setUp(){
+		if(!new File("boardFile.txt").exists()){
+			throw new IllegalStateException("Run the benchmarks from the folder containing boardFile.txt");
+		}
+		board = new Board();
+		start = board.squareAt(route.startRow, route.startCol);
+		goal = board.squareAt(route.goalRow, route.goalCol);
+	}
+
+	@Benchmark
+	public int movesBetween(){
+		return board.movesBetween(start, goal);
+	}
+
+}
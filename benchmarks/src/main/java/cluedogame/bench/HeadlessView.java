@@ -0,0 +1,131 @@
+package cluedogame.bench;
+
+import java.util.List;
+
+import cluedogame.GameOfCluedo;
+import cluedogame.Player;
+import cluedogame.GUI.GameView;
+import cluedogame.GUI.ScaledImageCache;
+
+/**
+ * A view with no window, for drawing the canvases into an offscreen
+ * image. It is sized like a CluedoFrame at the given pixel size, and
+ * ignores dialogs and buttons.
+ * @author Sarah Dobie, Chris Read
+ *
+ */
+public class HeadlessView implements GameView {
+
+	private final GameOfCluedo game;
+	private final int pixelSize;
+	private final ScaledImageCache scaledImages = new ScaledImageCache();
+
+	/**
+	 * Constructor for class HeadlessView.
+	 * @param game The game to show
+	 * @param pixelSize The size of the pixels of the art
+	 */
+	public HeadlessView(GameOfCluedo game, int pixelSize){
+		this.game = game;
+		this.pixelSize = pixelSize;
+	}
+
+	@Override
+	public GameOfCluedo getGame() {
+		return game;
+	}
+
+	@Override
+	public List<Player> getPlayers() {
+		return game.getPlayers();
+	}
+
+	@Override
+	public int getPixelSize() {
+		return pixelSize;
+	}
+
+	@Override
+	public ScaledImageCache getScaledImages() {
+		return scaledImages;
+	}
+
+	@Override
+	public int getBoardCanvasWidth() {
+		return 120*pixelSize;
+	}
+
+	@Override
+	public int getBoardCanvasHeight() {
+		return 125*pixelSize;
+	}
+
+	@Override
+	public int getDashCanvasWidth() {
+		return 40*pixelSize;
+	}
+
+	@Override
+	public int getDashCanvasHeight() {
+		return getBoardCanvasHeight();
+	}
+
+	@Override
+	public int convertColToX(int c) {
+		return (int)(squareWidth()*c);
+	}
+
+	@Override
+	public int convertXToCol(int x) {
+		return (int)((double)x/squareWidth());
+	}
+
+	@Override
+	public int convertRowToY(int r) {
+		return (int)(squareHeight()*r);
+	}
+
+	@Override
+	public int convertYToRow(int y) {
+		return (int)((double)y/squareHeight());
+	}
+
+	/**
+	 * Determines the width of a board square.
+	 * @return The width of a board square
+	 */
+	private double squareWidth() {
+		return (double)getBoardCanvasWidth()/(double)game.getBoard().getCols();
+	}
+
+	/**
+	 * Determines the height of a board square.
+	 * @return The height of a board square
+	 */
+	private double squareHeight() {
+		return (double)getBoardCanvasHeight()/(double)game.getBoard().getRows();
+	}
+
+	@Override
+	public boolean isDave() {
+		return false;
+	}
+
+	@Override
+	public String makeDave(String input) {
+		return input;
+	}
+
+	@Override
+	public void showDialog(String message, String title) {}
+
+	@Override
+	public void enableShortcutBtn(boolean canTakeShortcut) {}
+
+	@Override
+	public void enableSuggestBtn(boolean canSuggest) {}
+
+	@Override
+	public void repaintAll() {}
+
+}
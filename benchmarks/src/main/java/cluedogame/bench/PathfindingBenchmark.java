@@ -0,0 +1,136 @@
+package cluedogame.bench;
+
+import java.io.File;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import cluedogame.Board;
+import cluedogame.GameOfCluedo;
+import cluedogame.Player;
+import cluedogame.ReachableSquares;
+import cluedogame.sqaures.HallwaySquare;
+import cluedogame.sqaures.Square;
+
+/**
+ * Measures path finding on the real board, for routes of each kind, with
+ * and without another player standing in the way. Distances that ignore
+ * the players are measured by DistanceBenchmark.
+ * Must be run from the folder containing boardFile.txt.
+ * @author Sarah Dobie, Chris Read
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathfindingBenchmark {
+
+	public static final int MOVES = 100; // enough moves to take any route
+
+	/**
+	 * The kinds of route measured: the start and goal of each.
+	 */
+	public enum Route {
+		HALLWAY(24, 7, 6, 23), // Miss Scarlett's start to the far corridor
+		INTO_ROOM(17, 9, 12, 3), // through a door into the Dining Room
+		TO_SHORTCUT(8, 10, 1, 5), // into the Kitchen and onto its shortcut
+		FROM_SHORTCUT(19, 0, 3, 12); // out of the Lounge from its shortcut, into the Ball Room
+
+		final int startRow, startCol, goalRow, goalCol;
+
+		Route(int startRow, int startCol, int goalRow, int goalCol){
+			this.startRow = startRow;
+			this.startCol = startCol;
+			this.goalRow = goalRow;
+			this.goalCol = goalCol;
+		}
+	}
+
+	@Param
+	public Route route;
+
+	@Param({"false", "true"})
+	public boolean blocked; // true to stand a player in the middle of the route
+
+	private Board board;
+	private GameOfCluedo game;
+	private Square start;
+	private Square goal;
+
+	@Setup
+	public void setUp(){
+		if(!new File("boardFile.txt").exists()){
+			throw new IllegalStateException("Run the benchmarks from the folder containing boardFile.txt");
+		}
+		board = new Board();
+		game = new GameOfCluedo(board, new Random(0));
+		start = board.squareAt(route.startRow, route.startCol);
+		goal = board.squareAt(route.goalRow, route.goalCol);
+		// everyone starts off the board, out of the way
+		Player blocker = new Player(GameOfCluedo.MUSTARD, "Blocker");
+		game.addPlayer(blocker);
+		blocker.setPos(0, 0);
+		List<Square> path = board.shortestPath(start, goal, MOVES, game);
+		if(path == null){
+			throw new IllegalStateException("No route for "+route);
+		}
+		if(blocked){
+			// stand on the hallway square closest to the middle of the route
+			Square middle = null;
+			int middleDistance = Integer.MAX_VALUE;
+			for(int i = 0; i < path.size(); i++){
+				Square sq = path.get(i);
+				int distance = Math.abs(i - path.size()/2);
+				if(sq instanceof HallwaySquare && sq != goal && distance < middleDistance){
+					middle = sq;
+					middleDistance = distance;
+				}
+			}
+			if(middle == null){
+				throw new IllegalStateException("No hallway square to block on "+route);
+			}
+			blocker.setPos(middle.row(), middle.col());
+			List<Square> detour = board.shortestPath(start, goal, MOVES, game);
+			if(path.equals(detour)){
+				throw new IllegalStateException("The blocker does not change the route for "+route);
+			}
+		}
+	}
+
+	@Benchmark
+	public List<Square> shortestPath(){
+		return board.shortestPath(start, goal, MOVES, game);
+	}
+
+	@Benchmark
+	public List<Square> pathServiceNewTree(){
+		game.getPaths().invalidate();
+		return game.getPaths().shortestPath(start, goal, MOVES);
+	}
+
+	@Benchmark
+	public List<Square> pathServiceSameTree(){
+		return game.getPaths().shortestPath(start, goal, MOVES);
+	}
+
+	@Benchmark
+	public ReachableSquares reachableSquares(){
+		return board.reachableSquares(start, 12, game);
+	}
+
+}
@@ -0,0 +1,118 @@
+package cluedogame.bench;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import cluedogame.GameOfCluedo;
+import cluedogame.Player;
+import cluedogame.GUI.BoardCanvas;
+import cluedogame.GUI.DashboardCanvas;
+import cluedogame.GUI.ImageAssets;
+
+/**
+ * Measures drawing the board and dashboard into an offscreen image,
+ * with no display, at each pixel size.
+ * Must be run from the folder containing boardFile.txt and Images.
+ * @author Sarah Dobie, Chris Read
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderingBenchmark {
+
+	@Param({"1", "2", "3", "4", "5", "6", "7", "8", "9", "10"})
+	public int pixel;
+
+	@Param({"true", "false"})
+	public boolean cardsSeen; // true to draw with the cards seen window open
+
+	@Param({"false", "true"})
+	public boolean rescale; // true to scale all the art again for every paint, as after a resize
+
+	private HeadlessView view;
+	private BoardCanvas boardCanvas;
+	private DashboardCanvas dashboardCanvas;
+	private BufferedImage boardImage;
+	private BufferedImage dashImage;
+	private Graphics2D boardGraphics;
+	private Graphics2D dashGraphics;
+
+	@Setup
+	public void setUp(){
+		if(!new File("boardFile.txt").exists() || !new File("Images").isDirectory()){
+			throw new IllegalStateException("Run the benchmarks from the folder containing boardFile.txt and Images");
+		}
+		GameOfCluedo game = new GameOfCluedo();
+		game.addPlayer(new Player(GameOfCluedo.SCARLETT, "Scarlett"));
+		game.addPlayer(new Player(GameOfCluedo.MUSTARD, "Mustard"));
+		game.addPlayer(new Player(GameOfCluedo.WHITE, "White"));
+		game.dealCards();
+		game.setReady(true);
+		game.nextTurn();
+		game.setCardsSeenWindow(cardsSeen);
+
+		view = new HeadlessView(game, pixel);
+		boardCanvas = new BoardCanvas(view);
+		boardCanvas.setSize(view.getBoardCanvasWidth(), view.getBoardCanvasHeight());
+		dashboardCanvas = new DashboardCanvas(view);
+		dashboardCanvas.setSize(view.getDashCanvasWidth(), view.getDashCanvasHeight());
+		boardImage = new BufferedImage(view.getBoardCanvasWidth(), view.getBoardCanvasHeight(),
+				BufferedImage.TYPE_INT_ARGB);
+		dashImage = new BufferedImage(view.getDashCanvasWidth(), view.getDashCanvasHeight(),
+				BufferedImage.TYPE_INT_ARGB);
+		boardGraphics = boardImage.createGraphics();
+		dashGraphics = dashImage.createGraphics();
+		// paint once so that every image used is read, then check none failed
+		boardCanvas.paint(boardGraphics);
+		dashboardCanvas.paint(dashGraphics);
+		List<String> failed = ImageAssets.getFailures();
+		if(!failed.isEmpty()){
+			throw new IllegalStateException("Could not read images "+failed);
+		}
+	}
+
+	@TearDown
+	public void tearDown(){
+		boardGraphics.dispose();
+		dashGraphics.dispose();
+	}
+
+	@Benchmark
+	public BufferedImage paintBoard(){
+		if(rescale){
+			view.getScaledImages().clear();
+		}
+		boardCanvas.paint(boardGraphics);
+		return boardImage;
+	}
+
+	@Benchmark
+	public BufferedImage paintDashboard(){
+		if(rescale){
+			view.getScaledImages().clear();
+		}
+		dashboardCanvas.paint(dashGraphics);
+		return dashImage;
+	}
+
+}
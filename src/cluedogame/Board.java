@@ -2,138 +2,683 @@ package cluedogame;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.PriorityQueue;
+import java.util.Map;
 import java.util.Queue;
 import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 
+import cluedogame.cards.CardBits;
 import cluedogame.sqaures.*;
 import cluedogame.sqaures.DoorSquare.Dir;
 
 /**
  * A 2D array representation of the Cluedo playing board.
+ * A board never changes once it is loaded: each game keeps track of
+ * where its own players stand, and path searches keep their working
+ * state in pooled SearchContexts rather than on the board. One board may
+ * therefore be shared by any number of games, on any number of threads.
+ * <p>
+ * A board file starts with lines describing the board, then a line
+ * "grid:" followed by one line of square codes per row. The description
+ * gives the image of the board, the code letter of each room, the room
+ * each door opens to, where each shortcut leads and where each character
+ * starts:
+ * <pre>
+ * image: board.png
+ * room: K, Kitchen
+ * door: 5, 7, Ball Room               (row, column, room)
+ * shortcut: 1, 5, Kitchen, 21, 23     (row, column, room, row and column it leads to)
+ * start: Miss Scarlett, 24, 7         (character, row, column)
+ * </pre>
+ * In the grid, '/' is a blank square, '_' a hallway, '~' a shortcut,
+ * 'N', 'E', 'S' and 'W' doors entered going in that direction, and any
+ * other letter a square of the room with that code. Lines starting with
+ * '#' are ignored. Every character must have a start square, and a
+ * board may have up to MAX_SQUARES squares. Boards without an image are
+ * drawn as a plan.
  * @author Sarah Dobie, Chris Read
  *
  */
 public class Board {
-	public static int ROWS = 25;
-	public static int COLS = 24;
+	public static final String BOARD_FILE = "boardFile.txt"; // the standard board
+	public static final int MAX_SQUARES = 46340; // the most squares on a board, so any route's search cost fits in an int
+	public static final int MAX_TABLE_SQUARES = 1024; // the most steppable squares to store every distance between
+	public static final int MAX_GOAL_TABLES = 64; // the most goals to keep the distances to, on bigger boards
+	static final int USES_MOVE = 1; // a step rule: the step costs a move
+	static final int BLOCKABLE = 2; // a step rule: a player standing on the square blocks the step
+	private static Board standard; // the standard board, shared by every game played on it
 	
-	private Square[][] board = new Square[ROWS][COLS];
+	private final int rows; // the number of rows on the board
+	private final int cols; // the number of columns on the board
+	private final Square[][] board;
+	private final String imageName; // the image of the board, or null if there is none
+	private final int[] starts; // the index of each character's start square, by card id
+	private final List<List<RoomSquare>> roomSquares; // the squares inside each room, by card id
+	private final int[] neighbourStart; // where each square's neighbours start in neighbours
+	private final int[] neighbours; // the squares each square can be stepped to from, ignoring players
+	private final byte[] neighbourRules; // the rules of each step in the neighbour table
+	
+	// path search state; squares are indexed by row*cols + col
+	private final int moveWeight; // a move costs more than any number of steps
+	private final Queue<SearchContext> searchPool = new ConcurrentLinkedQueue<SearchContext>();
+	private final boolean storeDistances; // false if the board is too big to store every distance
+	private volatile DistanceTable distances; // walking distances ignoring players, built on first use
+	private final int[] reverseStart; // where each square's entries start in reverseNeighbours, on bigger boards
+	private final int[] reverseNeighbours; // the squares each square can be stepped to from, on bigger boards
+	private final byte[] reverseRules; // the rules of each step in reverseNeighbours, on bigger boards
+	private final ConcurrentMap<Integer, int[]> goalMoves = new ConcurrentHashMap<Integer, int[]>(); // moves to each goal found, on bigger boards
 	
 	/**
-	 * Constructor for class Board.
+	 * Constructor for class Board. Loads the standard board.
 	 */
 	public Board(){
-		parse();
+		this(new File(BOARD_FILE));
+	}
+	
+	/**
+	 * Constructor for class Board.
+	 * @param file The board file to load. Its compiled version is
+	 * loaded instead if it is up to date.
+	 */
+	public Board(File file){
+		this(file, true);
+	}
+	
+	/**
+	 * Constructor for class Board.
+	 * @param file The board file to load
+	 * @param useCompiled True to load the compiled board if it is up to
+	 * date, false to always read the text file
+	 */
+	Board(File file, boolean useCompiled){
+		Layout layout = useCompiled ? loadCompiled(compiledFile(file), file) : null;
+		if(layout == null){
+			layout = parse(file);
+			findNeighbours(layout);
+		}
+		rows = layout.rows;
+		cols = layout.cols;
+		board = layout.squares;
+		imageName = layout.imageName;
+		starts = layout.starts;
+		neighbourStart = layout.neighbourStart;
+		neighbours = layout.neighbours;
+		neighbourRules = findNeighbourRules();
+		roomSquares = findRoomSquares();
+		moveWeight = rows*cols;
+		int steppable = 0;
+		for(Square[] row : board){
+			for(Square sq : row){
+				if(sq.isSteppable()){
+					steppable++;
+				}
+			}
+		}
+		storeDistances = steppable <= MAX_TABLE_SQUARES;
+		if(storeDistances){
+			reverseStart = null;
+			reverseNeighbours = null;
+			reverseRules = null;
+		} else {
+			reverseStart = findReverseStart();
+			reverseNeighbours = new int[neighbours.length];
+			reverseRules = new byte[neighbours.length];
+			findReverseNeighbours();
+		}
+	}
+	
+	/**
+	 * Gets the standard board, loading it if this is the first time.
+	 * Every caller gets the same board.
+	 * @return The board loaded from the standard board file
+	 */
+	public static synchronized Board standard(){
+		if(standard == null){
+			standard = new Board();
+		}
+		return standard;
+	}
+	
+	/**
+	 * Gets the file a board file is compiled to: the same file with the
+	 * extension .bin.
+	 * @param file The board file
+	 * @return The compiled board file
+	 */
+	public static File compiledFile(File file){
+		String name = file.getName();
+		int dot = name.lastIndexOf('.');
+		String base = dot > 0 ? name.substring(0, dot) : name;
+		return new File(file.getAbsoluteFile().getParentFile(), base+".bin");
+	}
+	
+	/**
+	 * Loads the board from a file compiled by BoardCompiler, reading it
+	 * straight from a memory mapped buffer. The text file is only read, to
+	 * check its checksum, if its date differs from the one recorded.
+	 * @param compiled The compiled board file
+	 * @param source The text file it was compiled from
+	 * @return The board loaded, or null if there is no compiled file, or
+	 * it was compiled from a different text file or by another version.
+	 */
+	private static Layout loadCompiled(File compiled, File source){
+		if(!compiled.isFile() || !source.isFile()){
+			return null;
+		}
+		try(FileChannel channel = FileChannel.open(compiled.toPath(), StandardOpenOption.READ)){
+			ByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+			if(buffer.getInt() != BoardCompiler.MAGIC || buffer.getInt() != BoardCompiler.VERSION){
+				System.out.println("Ignoring "+compiled+": compiled by another version");
+				return null;
+			}
+			int length = buffer.getInt();
+			int checksum = buffer.getInt();
+			long modified = buffer.getLong();
+			if(length != source.length() || (modified != source.lastModified()
+					&& checksum != BoardCompiler.checksum(Files.readAllBytes(source.toPath())))){
+				System.out.println("Ignoring "+compiled+": not compiled from the current "+source.getName());
+				return null;
+			}
+			int rows = buffer.getInt();
+			int cols = buffer.getInt();
+			if(rows <= 0 || cols <= 0 || (long)rows*cols > MAX_SQUARES){
+				return null;
+			}
+			Layout layout = new Layout(rows, cols);
+			int cells = rows*cols;
+			int edges = buffer.getInt();
+			// each section is a flat array, one entry per square
+			int types = buffer.position();
+			int rooms = types + cells;
+			int dirs = rooms + cells;
+			buffer.position(dirs + cells);
+			IntBuffer ints = buffer.asIntBuffer();
+			int[] links = new int[cells];
+			ints.get(links);
+			layout.neighbourStart = new int[cells+1];
+			ints.get(layout.neighbourStart);
+			layout.neighbours = new int[edges];
+			ints.get(layout.neighbours);
+			ints.get(layout.starts);
+			for(int start : layout.starts){
+				if(start < 0 || start >= cells){
+					return null; // compiled before every character needed a start
+				}
+			}
+			char[] image = new char[ints.get()];
+			for(int i = 0; i < image.length; i++){
+				image[i] = (char)ints.get();
+			}
+			layout.imageName = image.length == 0 ? null : new String(image);
+			// the game hands out squares and compares them by identity, so each
+			// square is still made once here
+			Square[][] board = layout.squares;
+			Dir[] directions = Dir.values();
+			for(int i = 0; i < cells; i++){
+				int row = i / cols;
+				int col = i % cols;
+				byte room = buffer.get(rooms + i);
+				switch(buffer.get(types + i)){
+				case BoardCompiler.HALLWAY : board[row][col] = new HallwaySquare(row, col); break;
+				case BoardCompiler.ROOM : board[row][col] = new RoomSquare(room, row, col); break;
+				case BoardCompiler.DOOR : board[row][col] = new DoorSquare(room,
+						directions[buffer.get(dirs + i)], row, col); break;
+				case BoardCompiler.SHORTCUT : board[row][col] = new ShortcutSquare(room,
+						buffer.get(rooms + links[i]), links[i] / cols, links[i] % cols,
+						row, col); break;
+				default : board[row][col] = new BlankSquare(row, col); break;
+				}
+			}
+			return layout;
+		} catch(IOException | RuntimeException e){
+			System.out.println("Error loading file: "+ e.getMessage());
+			return null;
+		}
 	}
 	
 	/**
 	 * Loads a board from a given file.
 	 * @param file The file containing the board data.
+	 * @return The board read, without its neighbour table
+	 * @throws IllegalArgumentException If the file does not describe a
+	 * whole board
 	 */
-	private void parse(){
-		try{
-			Scanner s = new Scanner(new File("boardFile.txt"));
-			// create queues of special squares
-			Queue<String> shortcuts = shortcutRooms();
-			Queue<String> roomDoors = roomDoors();
-			// iterate over each row
-			for(int r = 0; r<board.length; r++){
+	private static Layout parse(File file){
+		String imageName = null;
+		Map<Character, Integer> roomCodes = new HashMap<Character, Integer>();
+		List<String[]> doors = new ArrayList<String[]>();
+		List<String[]> shortcuts = new ArrayList<String[]>();
+		List<String[]> startLines = new ArrayList<String[]>();
+		List<String> grid = new ArrayList<String>();
+		try(Scanner s = new Scanner(file)){
+			// read the description, up to the grid
+			while(s.hasNextLine()){
+				String line = s.nextLine().trim();
+				if(line.isEmpty() || line.startsWith("#")){
+					continue;
+				}
+				int colon = line.indexOf(':');
+				if(colon < 0){
+					throw badBoard(file, "expected a description or \"grid:\", not \""+line+"\"");
+				}
+				String key = line.substring(0, colon).trim();
+				String[] values = line.substring(colon+1).split(",");
+				for(int i = 0; i < values.length; i++){
+					values[i] = values[i].trim();
+				}
+				switch(key){
+				case "image" : imageName = values[0]; break;
+				case "room" :
+					expect(file, line, values, 2);
+					roomCodes.put(values[0].charAt(0), room(file, values[1]));
+					break;
+				case "door" : doors.add(expect(file, line, values, 3)); break;
+				case "shortcut" : shortcuts.add(expect(file, line, values, 5)); break;
+				case "start" : startLines.add(expect(file, line, values, 3)); break;
+				case "grid" : break;
+				default : throw badBoard(file, "unknown description \""+key+"\"");
+				}
+				if(key.equals("grid")){
+					break;
+				}
+			}
+			// read the grid, one line per row
+			while(s.hasNextLine()){
 				String line = s.nextLine();
-				// parse each column in row r
-				for(int c=0; c < board[0].length; c++){
-					char code = line.charAt(c); // get the character in the file
-					// determine the Square corresponding to the code
-					Square sq = squareTypeFromCode(code, r, c, shortcuts, roomDoors);
-					// add the square to the board
-					board[r][c] = sq;
+				if(!line.trim().isEmpty()){
+					grid.add(line.trim());
 				}
 			}
-			s.close();	
 		} catch(IOException e){
-			System.out.println("Error loading file: "+ e.getMessage());
+			throw badBoard(file, "could not be read ("+e.getMessage()+")");
+		}
+		if(grid.isEmpty()){
+			throw badBoard(file, "no grid");
+		}
+		if((long)grid.size()*grid.get(0).length() > MAX_SQUARES){
+			throw badBoard(file, "more than "+MAX_SQUARES+" squares");
+		}
+		Layout layout = new Layout(grid.size(), grid.get(0).length());
+		layout.imageName = imageName;
+		int rows = layout.rows;
+		int cols = layout.cols;
+		Square[][] board = layout.squares;
+		// find the room of each door and shortcut
+		Map<Integer, Integer> doorRooms = new HashMap<Integer, Integer>();
+		for(String[] door : doors){
+			doorRooms.put(layout.index(file, door[0], door[1]), room(file, door[2]));
 		}
+		Map<Integer, String[]> shortcutInfo = new HashMap<Integer, String[]>();
+		for(String[] shortcut : shortcuts){
+			layout.index(file, shortcut[3], shortcut[4]); // check it leads onto the board
+			room(file, shortcut[2]);
+			shortcutInfo.put(layout.index(file, shortcut[0], shortcut[1]), shortcut);
+		}
+		// create each square
+		for(int r = 0; r < rows; r++){
+			String line = grid.get(r);
+			if(line.length() != cols){
+				throw badBoard(file, "row "+r+" has "+line.length()+" squares, not "+cols);
+			}
+			for(int c = 0; c < cols; c++){
+				board[r][c] = squareTypeFromCode(file, line.charAt(c), r, c, cols, roomCodes, doorRooms);
+			}
+		}
+		// shortcuts lead to a square in another room, so come last
+		for(int r = 0; r < rows; r++){
+			for(int c = 0; c < cols; c++){
+				if(board[r][c] == null){
+					String[] shortcut = shortcutInfo.get(r*cols + c);
+					if(shortcut == null){
+						throw badBoard(file, "no description of the shortcut at "+r+", "+c);
+					}
+					int to = layout.index(file, shortcut[3], shortcut[4]);
+					String[] toShortcut = shortcutInfo.get(to);
+					int toRoom = toShortcut != null ? room(file, toShortcut[2]) : roomOf(board[to / cols][to % cols]);
+					if(toRoom == BoardCompiler.NONE){
+						throw badBoard(file, "the shortcut at "+r+", "+c+" does not lead into a room");
+					}
+					board[r][c] = new ShortcutSquare(room(file, shortcut[2]), toRoom, to / cols, to % cols, r, c);
+				}
+			}
+		}
+		// find where each character starts
+		int[] starts = layout.starts;
+		Arrays.fill(starts, -1);
+		for(String[] start : startLines){
+			int id = CardBits.id(start[0]);
+			if((CardBits.bit(start[0]) & CardBits.CHARACTERS) == 0){
+				throw badBoard(file, start[0]+" is not a character");
+			}
+			starts[id] = layout.index(file, start[1], start[2]);
+		}
+		for(int id = 0; id < starts.length; id++){
+			if(starts[id] < 0){
+				throw badBoard(file, "no start square for "+CardBits.name(id));
+			}
+		}
+		return layout;
 	}
 
 	/**
 	 * Creates a new square based on the code read from the file.
+	 * @param file The file being read
 	 * @param code A character from the file
 	 * @param row The row of the new square
 	 * @param col The column of the new square
-	 * @param shortcuts The remaining shortcut rooms
-	 * @param roomDoors The remaining room entrances
-	 * @return A Square corresponding to the given code.
+	 * @param cols The number of columns on the board
+	 * @param roomCodes The room of each room code
+	 * @param doorRooms The room each door opens to, by index
+	 * @return A Square corresponding to the given code, or null for a
+	 * shortcut, which is made once every other square exists.
 	 */
-	private Square squareTypeFromCode(char code, int row, int col, Queue<String> shortcuts,
-			Queue<String> roomDoors) {
-		Square sq = null;
+	private static Square squareTypeFromCode(File file, char code, int row, int col, int cols,
+			Map<Character, Integer> roomCodes, Map<Integer, Integer> doorRooms) {
 		switch(code){
-		case '/' : sq = new BlankSquare(row, col); break;
-		case '_' : sq = new HallwaySquare(row, col); break;
-		case '~' : sq = new ShortcutSquare(shortcuts.poll(), this, row, col); break;
-		case 'K' : sq = new RoomSquare(GameOfCluedo.KITCHEN, row, col); break;
-		case 'B' : sq = new RoomSquare(GameOfCluedo.BALL_ROOM, row, col); break;
-		case 'D' : sq = new RoomSquare(GameOfCluedo.DINING_ROOM, row, col); break;
-		case 'C' : sq = new RoomSquare(GameOfCluedo.CONSERVATORY, row, col); break;
-		case 'b' : sq = new RoomSquare(GameOfCluedo.BILLIARD_ROOM, row, col); break;
-		case 'l' : sq = new RoomSquare(GameOfCluedo.LIBRARY, row, col); break;
-		case 'L' : sq = new RoomSquare(GameOfCluedo.LOUNGE, row, col); break;
-		case 'H' : sq = new RoomSquare(GameOfCluedo.HALL, row, col); break;
-		case 's' : sq = new RoomSquare(GameOfCluedo.STUDY, row, col); break;
-		case 'N' : sq = new DoorSquare(roomDoors.poll(), Dir.NORTH, row, col); break;
-		case 'E' : sq = new DoorSquare(roomDoors.poll(), Dir.EAST, row, col); break;
-		case 'S' : sq = new DoorSquare(roomDoors.poll(), Dir.SOUTH, row, col); break;
-		case 'W' : sq = new DoorSquare(roomDoors.poll(), Dir.WEST, row, col); break;
-		}
-		return sq;
+		case '/' : return new BlankSquare(row, col);
+		case '_' : return new HallwaySquare(row, col);
+		case '~' : return null;
+		case 'N' : return new DoorSquare(doorRoom(file, row*cols + col, doorRooms), Dir.NORTH, row, col);
+		case 'E' : return new DoorSquare(doorRoom(file, row*cols + col, doorRooms), Dir.EAST, row, col);
+		case 'S' : return new DoorSquare(doorRoom(file, row*cols + col, doorRooms), Dir.SOUTH, row, col);
+		case 'W' : return new DoorSquare(doorRoom(file, row*cols + col, doorRooms), Dir.WEST, row, col);
+		}
+		Integer room = roomCodes.get(code);
+		if(room == null){
+			throw badBoard(file, "unknown square code '"+code+"' at "+row+", "+col);
+		}
+		return new RoomSquare(room, row, col);
 	}
-	
+
 	/**
-	 * Creates a queue containing the room at each shortcut
-	 * location (ie. the room it goes to), in the order that they will be parsed.
-	 * @return A queue containing the end room at each shortcut
-	 * location, in the order that they will be parsed.
+	 * Gets the room a door opens to.
+	 * @return The card id of the room the door at the given index opens to
 	 */
-	private Queue<String> shortcutRooms(){
-		Queue<String> rooms = new LinkedList<String>();
-		rooms.add(GameOfCluedo.STUDY);
-		rooms.add(GameOfCluedo.LOUNGE);
-		rooms.add(GameOfCluedo.CONSERVATORY);
-		rooms.add(GameOfCluedo.KITCHEN);
-		return rooms;
+	private static int doorRoom(File file, int index, Map<Integer, Integer> doorRooms){
+		Integer room = doorRooms.get(index);
+		if(room == null){
+			throw badBoard(file, "no description of a door at square "+index);
+		}
+		return room;
 	}
-	
+
 	/**
-	 * Creates a queue containing the name of each room in the order
-	 * that their door will be parsed.
-	 * @return A queue containing the room at each shortcut
-	 * location, in the order that they will be parsed.
-	 */
-	private Queue<String> roomDoors(){
-		Queue<String> rooms = new LinkedList<String>();
-		rooms.add(GameOfCluedo.BALL_ROOM);
-		rooms.add(GameOfCluedo.BALL_ROOM);
-		rooms.add(GameOfCluedo.CONSERVATORY);
-		rooms.add(GameOfCluedo.KITCHEN);
-		rooms.add(GameOfCluedo.BALL_ROOM);
-		rooms.add(GameOfCluedo.BALL_ROOM);
-		rooms.add(GameOfCluedo.BILLIARD_ROOM);
-		rooms.add(GameOfCluedo.DINING_ROOM);
-		rooms.add(GameOfCluedo.LIBRARY);
-		rooms.add(GameOfCluedo.BILLIARD_ROOM);
-		rooms.add(GameOfCluedo.DINING_ROOM);
-		rooms.add(GameOfCluedo.LIBRARY);
-		rooms.add(GameOfCluedo.HALL);
-		rooms.add(GameOfCluedo.HALL);
-		rooms.add(GameOfCluedo.LOUNGE);
-		rooms.add(GameOfCluedo.HALL);
-		rooms.add(GameOfCluedo.STUDY);
-		return rooms;
+	 * Gets the room a square is in or opens to.
+	 * @param sq The square to check
+	 * @return The card id of the room of the square, or BoardCompiler.NONE
+	 * if it is not part of a room
+	 */
+	private static int roomOf(Square sq){
+		if(sq instanceof RoomSquare){
+			return ((RoomSquare)sq).getRoomId();
+		} else if(sq instanceof DoorSquare){
+			return ((DoorSquare)sq).getRoomId();
+		} else if(sq instanceof ShortcutSquare){
+			return ((ShortcutSquare)sq).startRoomId();
+		}
+		return BoardCompiler.NONE;
 	}
-	
+
+	/**
+	 * Checks that a name in a board file is a room.
+	 * @return The card id of the room
+	 */
+	private static int room(File file, String name){
+		if((CardBits.bit(name) & CardBits.ROOMS) == 0){
+			throw badBoard(file, name+" is not a room");
+		}
+		return CardBits.id(name);
+	}
+
+	/**
+	 * Checks a line of a board file has the expected number of values.
+	 * @return The values on the line
+	 */
+	private static String[] expect(File file, String line, String[] values, int count){
+		if(values.length != count){
+			throw badBoard(file, "expected "+count+" values in \""+line+"\"");
+		}
+		return values;
+	}
+
+	/**
+	 * Makes the exception thrown for a board file that cannot be used.
+	 * @param file The board file
+	 * @param problem What is wrong with the file
+	 * @return The exception to throw
+	 */
+	private static IllegalArgumentException badBoard(File file, String problem){
+		return new IllegalArgumentException("Bad board file "+file+": "+problem);
+	}
+
+	/**
+	 * Finds the squares each square can be stepped to from, ignoring
+	 * other players.
+	 * @param layout The board to fill in the neighbour table of
+	 */
+	private static void findNeighbours(Layout layout){
+		int cols = layout.cols;
+		int cells = layout.rows*cols;
+		int[] neighbourStart = new int[cells+1];
+		int[] found = new int[cells*4];
+		int count = 0;
+		for(int i = 0; i < cells; i++){
+			neighbourStart[i] = count;
+			int row = i / cols;
+			int col = i % cols;
+			Square from = layout.squares[row][col];
+			count = addNeighbour(layout, found, count, from, row, col-1, Dir.WEST);
+			count = addNeighbour(layout, found, count, from, row, col+1, Dir.EAST);
+			count = addNeighbour(layout, found, count, from, row-1, col, Dir.NORTH);
+			count = addNeighbour(layout, found, count, from, row+1, col, Dir.SOUTH);
+		}
+		neighbourStart[cells] = count;
+		layout.neighbourStart = neighbourStart;
+		layout.neighbours = Arrays.copyOf(found, count);
+	}
+
+	/**
+	 * Adds a square to the neighbours found so far, if it can be stepped
+	 * to from the given square.
+	 * @return The number of neighbours found, including this one
+	 */
+	private static int addNeighbour(Layout layout, int[] found, int count, Square from,
+			int row, int col, Dir dir){
+		if(layout.isOnBoard(row, col) && MovementRules.canStep(from, layout.squares[row][col], dir)){
+			found[count++] = row*layout.cols + col;
+		}
+		return count;
+	}
+
+	/**
+	 * Lists the squares inside each room, so a room's squares can be
+	 * found without searching the whole board.
+	 * @return The squares inside each room, by card id
+	 */
+	private List<List<RoomSquare>> findRoomSquares(){
+		List<List<RoomSquare>> found = new ArrayList<List<RoomSquare>>();
+		for(int id = 0; id < CardBits.COUNT; id++){
+			found.add(new ArrayList<RoomSquare>());
+		}
+		for(Square[] row : board){
+			for(Square sq : row){
+				if(sq instanceof RoomSquare){
+					found.get(((RoomSquare)sq).getRoomId()).add((RoomSquare)sq);
+				}
+			}
+		}
+		List<List<RoomSquare>> rooms = new ArrayList<List<RoomSquare>>();
+		for(List<RoomSquare> squares : found){
+			rooms.add(Collections.unmodifiableList(squares));
+		}
+		return Collections.unmodifiableList(rooms);
+	}
+
+	/**
+	 * Works out the rules of each step in the neighbour table once, so
+	 * searches only need to look for players in the way.
+	 * @return The rules of each step, in the same order as neighbours
+	 */
+	private byte[] findNeighbourRules(){
+		byte[] rules = new byte[neighbours.length];
+		for(int from = 0; from < rows*cols; from++){
+			Square sq = board[from / cols][from % cols];
+			for(int edge = neighbourStart[from]; edge < neighbourStart[from+1]; edge++){
+				int to = neighbours[edge];
+				rules[edge] = stepRules(sq, board[to / cols][to % cols]);
+			}
+		}
+		return rules;
+	}
+
+	/**
+	 * Gets the rules of a step between neighbouring squares. Moving inside
+	 * a room is free and players never block the way into or out of a room.
+	 * @param from The square being stepped off
+	 * @param to The square being stepped onto
+	 * @return USES_MOVE if the step costs a move, plus BLOCKABLE if a
+	 * player on the square stepped onto stops the step
+	 */
+	private static byte stepRules(Square from, Square to){
+		int rules = MovementRules.moveCost(from, to) == 1 ? USES_MOVE : 0;
+		if(MovementRules.isBlockable(from, to)){
+			rules |= BLOCKABLE;
+		}
+		return (byte)rules;
+	}
+
+	/**
+	 * Counts the squares each square can be stepped to from, to find where
+	 * each square's entries start in the reversed neighbour table.
+	 * @return Where each square's entries start, with one extra entry
+	 * marking the end of the table
+	 */
+	private int[] findReverseStart(){
+		int cells = rows*cols;
+		int[] start = new int[cells+1];
+		for(int edge = 0; edge < neighbours.length; edge++){
+			start[neighbours[edge]+1]++;
+		}
+		for(int i = 0; i < cells; i++){
+			start[i+1] += start[i];
+		}
+		return start;
+	}
+
+	/**
+	 * Turns the neighbour table around, filling in the squares each square
+	 * can be stepped to from.
+	 */
+	private void findReverseNeighbours(){
+		int cells = rows*cols;
+		int[] next = Arrays.copyOf(reverseStart, cells);
+		for(int from = 0; from < cells; from++){
+			for(int edge = neighbourStart[from]; edge < neighbourStart[from+1]; edge++){
+				int reverse = next[neighbours[edge]]++;
+				reverseNeighbours[reverse] = from;
+				reverseRules[reverse] = neighbourRules[edge];
+			}
+		}
+	}
+
+	/**
+	 * Gets where each square's neighbours start in the neighbour table.
+	 * The neighbours of square i are neighbours()[neighbourStart()[i]]
+	 * up to but not including neighbours()[neighbourStart()[i+1]].
+	 * @return The start of each square's neighbours, with one extra
+	 * entry marking the end of the table
+	 */
+	int[] neighbourStart(){
+		return neighbourStart;
+	}
+
+	/**
+	 * Gets the neighbour table: the index of every square each square
+	 * can be stepped to from, ignoring other players.
+	 * @return The neighbour table
+	 */
+	int[] neighbours(){
+		return neighbours;
+	}
+
+	/**
+	 * Gets the rules of each step in the neighbour table: USES_MOVE if
+	 * the step costs a move, plus BLOCKABLE if another player can stand
+	 * in the way.
+	 * @return The rules of each step, in the same order as neighbours()
+	 */
+	byte[] neighbourRules(){
+		return neighbourRules;
+	}
+
+	/**
+	 * Checks whether a step in the neighbour table is blocked by a player.
+	 * @param edge The position of the step in the neighbour table
+	 * @param to The index of the square stepped onto
+	 * @param game The current game, or null to ignore players
+	 * @return True iff a player still in the game stands in the way
+	 */
+	private boolean isBlocked(int edge, int to, GameOfCluedo game){
+		return game != null && (neighbourRules[edge] & BLOCKABLE) != 0 && game.isOccupied(to);
+	}
+
+	/**
+	 * Gets the number of rows on the board.
+	 * @return The number of rows
+	 */
+	public int getRows(){
+		return rows;
+	}
+
+	/**
+	 * Gets the number of columns on the board.
+	 * @return The number of columns
+	 */
+	public int getCols(){
+		return cols;
+	}
+
+	/**
+	 * Gets the name of the image of the board, in the Images folder.
+	 * @return The name of the board's image, or null if it has none
+	 */
+	public String getImageName(){
+		return imageName;
+	}
+
+	/**
+	 * Gets the squares inside a room.
+	 * @param room The card id of the room
+	 * @return The squares in the room, row by row. The list cannot be changed.
+	 */
+	public List<RoomSquare> roomSquares(int room){
+		return roomSquares.get(room);
+	}
+
+	/**
+	 * Gets the square a character starts the game on.
+	 * @param character The card id of the character
+	 * @return The character's start square
+	 */
+	public Square startSquare(int character){
+		int start = starts[character];
+		return board[start / cols][start % cols];
+	}
+
 	/**
 	 * Returns the square at the given position.
 	 * @param row The row of the desired square
@@ -147,6 +692,8 @@ public class Board {
 	/**
 	 * Determines the shortest path between two squares, and whether this
 	 * path is short enough to be taken within a certain number of moves.
+	 * The path found uses the fewest moves possible, and of those paths
+	 * the one with the fewest squares.
 	 * @param start The first square in the path
 	 * @param goal The last square in the path
 	 * @param moves The number of moves this path must be taken in
@@ -155,128 +702,409 @@ public class Board {
 	 */
 	public List<Square> shortestPath(Square start, Square goal, int moves, GameOfCluedo game){
 		if(!goal.isSteppable()){return null;} // goal out of bounds
-		// prepare nodes and queue
-		setupSearchFlags();
-		PriorityQueue<AStarNode> fringe = new PriorityQueue<AStarNode>();
-		fringe.offer(new AStarNode(start, null, 0, distance(start,goal)));
-		boolean found = false;
+		// players in the way can only make the route longer
+		DistanceTable table = distances();
+		int packed = table == null ? DistanceTable.UNKNOWN : table.packedDistance(start, goal);
+		if(packed == DistanceTable.NO_ROUTE || (packed >= 0 && packed >>> 8 > moves)){
+			return null;
+		}
+		// follow the cached route if nobody is standing on it
+		if(packed >= 0){
+			List<Square> cached = cachedPath(start, goal, packed, game);
+			if(cached != null){
+				return cached;
+			}
+		}
+		// otherwise search around the players in the way
+		SearchContext search = acquireSearch();
+		try{
+			int startIndex = indexOf(start);
+			int goalIndex = indexOf(goal);
+			// only search as far as the moves available
+			if(!search(search, startIndex, goalIndex, maxCost(moves), game)){return null;}
+			// follow the links in the path to make a list
+			return pathToList(search, startIndex, goalIndex);
+		} finally {
+			releaseSearch(search);
+		}
+	}
+
+	/**
+	 * Finds the cheapest route from a square to every square that can be
+	 * reached from it within a number of moves, obeying the same rules as
+	 * shortestPath.
+	 * @param start The square every route starts from
+	 * @param maxMoves The most moves any route may use
+	 * @param game The current game, used to find players in the way
+	 * @return The tree of routes from the square
+	 */
+	public PathTree pathTree(Square start, int maxMoves, GameOfCluedo game){
+		SearchContext search = acquireSearch();
+		try{
+			// with no goal the search expands every square it can reach
+			search(search, indexOf(start), -1, maxCost(maxMoves), game);
+			int[] moves = new int[rows*cols];
+			int[] parent = new int[rows*cols];
+			for(int i=0; i<moves.length; i++){
+				int cost = search.cost(i);
+				moves[i] = cost == Integer.MAX_VALUE ? -1 : cost / moveWeight;
+				parent[i] = moves[i] < 0 ? -1 : search.parent(i);
+			}
+			return new PathTree(this, start, maxMoves, moves, parent);
+		} finally {
+			releaseSearch(search);
+		}
+	}
+
+	/**
+	 * Gets the highest search cost of a route within a number of moves.
+	 * @param moves The number of moves available
+	 * @return The cost of the move limit plus any number of steps within
+	 * the last move
+	 */
+	private int maxCost(int moves){
+		if(moves >= Integer.MAX_VALUE/moveWeight - 1){
+			return Integer.MAX_VALUE;
+		}
+		return (moves+1)*moveWeight - 1;
+	}
+
+	/**
+	 * Runs an A* search between two squares.
+	 * @param search The search context to use
+	 * @param startIndex The index of the first square in the path
+	 * @param goalIndex The index of the last square in the path, or -1 to
+	 * search every square that can be reached
+	 * @param maxCost The highest cost of any square searched
+	 * @param game The current game, or null to ignore players
+	 * @return True iff a path was found. The cost of the path and the links
+	 * along it are left in the search context.
+	 */
+	private boolean search(SearchContext search, int startIndex, int goalIndex, int maxCost,
+			GameOfCluedo game){
+		search.begin();
+		IntMinHeap fringe = search.fringe();
+		search.reach(startIndex, 0, startIndex);
+		fringe.offer(startIndex, estimate(startIndex, goalIndex));
 		
 		// continue polling from fringe until shortest path is found
 		while(!fringe.isEmpty()){
-			AStarNode n = fringe.poll();
-			if(!n.node.isVisited()){
-				// update node info
-				n.node.setVisited(true);
-				n.node.setFrom(n.from);
-				n.node.setCost(n.costToHere);
-				// check if we have reached the end of the path
-				if(n.node == goal){
-					found = true;
-					break;
+			int node = fringe.poll();
+			if(search.isClosed(node)){
+				continue; // stale queue entry
+			}
+			search.close(node);
+			// check if we have reached the end of the path
+			if(node == goalIndex){
+				return true;
+			}
+			// relax each neighbour
+			for(int edge = neighbourStart[node]; edge < neighbourStart[node+1]; edge++){
+				relax(search, node, edge, goalIndex, maxCost, game);
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Offers a neighbour of an expanded node to the fringe, if no player
+	 * is in the way and it is cheaper to reach than before.
+	 * @param search The search context in use
+	 * @param node The index of the expanded node
+	 * @param edge The position of the neighbour in the neighbour table
+	 * @param goalIndex The index of the goal square
+	 * @param maxCost The highest cost of any square searched
+	 * @param game The current game
+	 */
+	private void relax(SearchContext search, int node, int edge,
+			int goalIndex, int maxCost, GameOfCluedo game){
+		int neigh = neighbours[edge];
+		if(search.isClosed(neigh) || isBlocked(edge, neigh, game)){
+			return;
+		}
+		int costToNeigh = search.cost(node) + (neighbourRules[edge] & USES_MOVE)*moveWeight + 1;
+		if(costToNeigh <= maxCost && costToNeigh < search.cost(neigh)){
+			search.reach(neigh, costToNeigh, node);
+			search.fringe().offer(neigh, costToNeigh + estimate(neigh, goalIndex));
+		}
+	}
+
+	/**
+	 * Iterates backwards through shortest path nodes to arrange the path
+	 * into a list.
+	 * @param search The search context the path was found in
+	 * @param startIndex The index of the first node in the path
+	 * @param goalIndex The index of the final node in the path
+	 * @return A list of the squares in the path excluding the start square.
+	 */
+	private List<Square> pathToList(SearchContext search, int startIndex, int goalIndex) {
+		// count the squares in the path so the list can be filled in order
+		int length = 0;
+		for(int i = goalIndex; i != startIndex; i = search.parent(i)){
+			length++;
+		}
+		Square[] path = new Square[length];
+		int i = goalIndex;
+		for(int p = length-1; p >= 0; p--){
+			path[p] = board[i / cols][i % cols];
+			i = search.parent(i);
+		}
+		return new ArrayList<Square>(Arrays.asList(path));
+	}
+
+	/**
+	 * Finds every square that can be reached from a square within a
+	 * certain number of moves, obeying the same rules as shortestPath.
+	 * @param start The square to start from
+	 * @param roll The number of moves available
+	 * @param game The current game, used to find players in the way
+	 * @return The squares that can be reached and the moves needed to
+	 * reach each one.
+	 */
+	public ReachableSquares reachableSquares(Square start, int roll, GameOfCluedo game){
+		int[] costs = new int[rows*cols];
+		Arrays.fill(costs, -1);
+		BitSet reachable = new BitSet(rows*cols);
+		SearchContext search = acquireSearch();
+		try{
+			search.begin();
+			IntMinHeap fringe = search.fringe();
+			int startIndex = indexOf(start);
+			search.reach(startIndex, 0, startIndex);
+			fringe.offer(startIndex, 0);
+			// expand squares in order of moves used until the roll runs out
+			while(!fringe.isEmpty()){
+				int node = fringe.poll();
+				if(search.isClosed(node)){
+					continue; // stale queue entry
 				}
-				//make list of neighbours
-				List<Square> neighbours = setupNeighbours(n.node, goal, game);
-				for(Square neigh : neighbours){
-					// iterate over valid neighbours
-					if(!neigh.isVisited()){
-						// add valid neighbours to queue
-						double costToNeigh = n.costToHere + 1;
-						double estTotal = costToNeigh + distance(neigh, goal);
-						fringe.offer(new AStarNode(neigh, n.node, costToNeigh, estTotal));
-					}
+				search.close(node);
+				costs[node] = search.cost(node);
+				reachable.set(node);
+				for(int edge = neighbourStart[node]; edge < neighbourStart[node+1]; edge++){
+					flood(search, node, edge, roll, game);
 				}
-				
 			}
+		} finally {
+			releaseSearch(search);
+		}
+		return new ReachableSquares(cols, reachable, costs);
+	}
+
+	/**
+	 * Offers a neighbour of a flooded square to the fringe, if no player
+	 * is in the way and it can be reached within the roll more cheaply
+	 * than before.
+	 * @param search The search context in use
+	 * @param node The index of the flooded square
+	 * @param edge The position of the neighbour in the neighbour table
+	 * @param roll The number of moves available
+	 * @param game The current game
+	 */
+	private void flood(SearchContext search, int node, int edge, int roll, GameOfCluedo game){
+		int neigh = neighbours[edge];
+		if(search.isClosed(neigh) || isBlocked(edge, neigh, game)){
+			return;
+		}
+		int costToNeigh = search.cost(node) + (neighbourRules[edge] & USES_MOVE);
+		if(costToNeigh <= roll && costToNeigh < search.cost(neigh)){
+			search.reach(neigh, costToNeigh, node);
+			search.fringe().offer(neigh, costToNeigh);
 		}
-		if(!found){return null;}
-		// follow the links in the path to make a list
-		return pathToList(start, goal, moves);
 	}
 
 	/**
-	 * Prepares all Squares on the board for an A* search.
+	 * Takes a search context from the pool, or makes a new one if all
+	 * of them are in use.
+	 * @return A search context for the caller's sole use
 	 */
-	private void setupSearchFlags() {
-		for(int r=0; r<ROWS; r++){
-			for(int c=0; c<COLS; c++){
-				Square sq = board[r][c];
-				sq.setVisited(false);
-				sq.setFrom(null);
+	SearchContext acquireSearch(){
+		SearchContext search = searchPool.poll();
+		return search != null ? search : new SearchContext(rows*cols);
+	}
+
+	/**
+	 * Returns a search context to the pool once a search is finished.
+	 * @param search The search context to return
+	 */
+	void releaseSearch(SearchContext search){
+		searchPool.offer(search);
+	}
+
+	/**
+	 * Determines the number of moves needed to walk between two squares,
+	 * ignoring any players in the way.
+	 * @param start The first square in the path
+	 * @param goal The last square in the path
+	 * @return The number of moves needed, or -1 if the goal cannot be reached.
+	 */
+	public int movesBetween(Square start, Square goal){
+		DistanceTable table = distances();
+		if(table == null){
+			return movesTo(goal)[indexOf(start)];
+		}
+		int moves = table.moves(start, goal);
+		if(moves == DistanceTable.UNKNOWN){
+			// too far to be cached, so search for it
+			SearchContext search = acquireSearch();
+			try{
+				int goalIndex = indexOf(goal);
+				if(!search(search, indexOf(start), goalIndex, Integer.MAX_VALUE, null)){return -1;}
+				return search.cost(goalIndex) / moveWeight;
+			} finally {
+				releaseSearch(search);
 			}
 		}
+		return moves;
 	}
 
 	/**
-	 * Iterates backwards through shortest path nodes to arrange the path
-	 * into a list.
-	 * @param goal The final node in the path
-	 * @param moves The number of moves the path must fit within
-	 * @return A list of the squares in the path excluding the start square,
-	 * or null if there aren't enough moves to follow the path.
-	 */
-	private List<Square> pathToList(Square start, Square goal, int moves) {
-		// add all squares to a list in order
-		List<Square> shortestPath = new ArrayList<Square>();
-		Square sq = goal;
-		int movesTaken = 0;
-		Square nextSquare = sq.getFrom();
-		while(sq != null && sq != start){
-			shortestPath.add(0,sq);
-			if(!(sq instanceof RoomSquare)){ // RoomSquare moves don't count
-				movesTaken++;
-			} else if(nextSquare instanceof DoorSquare){ // unless they are first being entered
-				movesTaken++;
+	 * Gets the number of moves needed to walk from every square to a goal,
+	 * ignoring any players in the way. Used instead of the distance table
+	 * on bigger boards, where the same few goals are asked about often.
+	 * @param goal The square to walk to
+	 * @return The moves needed from each square, or -1 if the goal cannot
+	 * be reached from it.
+	 */
+	private int[] movesTo(Square goal){
+		int goalIndex = indexOf(goal);
+		int[] moves = goalMoves.get(goalIndex);
+		if(moves != null){
+			return moves;
+		}
+		SearchContext search = acquireSearch();
+		try{
+			// search backwards from the goal, along the reversed neighbour table
+			search.begin();
+			IntMinHeap fringe = search.fringe();
+			search.reach(goalIndex, 0, goalIndex);
+			fringe.offer(goalIndex, 0);
+			while(!fringe.isEmpty()){
+				int node = fringe.poll();
+				if(search.isClosed(node)){
+					continue; // stale queue entry
+				}
+				search.close(node);
+				for(int edge = reverseStart[node]; edge < reverseStart[node+1]; edge++){
+					int from = reverseNeighbours[edge];
+					int cost = search.cost(node) + (reverseRules[edge] & USES_MOVE)*moveWeight + 1;
+					if(!search.isClosed(from) && cost < search.cost(from)){
+						search.reach(from, cost, node);
+						fringe.offer(from, cost);
+					}
+				}
+			}
+			moves = new int[rows*cols];
+			for(int i = 0; i < moves.length; i++){
+				int cost = search.cost(i);
+				moves[i] = cost == Integer.MAX_VALUE ? -1 : cost / moveWeight;
 			}
-			sq = sq.getFrom();
-			nextSquare = sq.getFrom();
+		} finally {
+			releaseSearch(search);
 		}
-		// if the path is too long, set it to null
-		if(movesTaken > moves){
-			shortestPath = null;
+		if(goalMoves.size() >= MAX_GOAL_TABLES){
+			goalMoves.clear(); // forget old goals rather than grow without limit
 		}
-		return shortestPath;
+		goalMoves.put(goalIndex, moves);
+		return moves;
 	}
 
 	/**
-	 * Calculates the Euclidean distance between two squares.
-	 * @param square1 
-	 * @param square2
-	 * @return The Euclidean distance between the two given squares.
+	 * Determines whether a square can be reached within a certain number
+	 * of moves, ignoring any players in the way.
+	 * @param start The first square in the path
+	 * @param goal The last square in the path
+	 * @param moves The number of moves available
+	 * @return True iff the goal can be reached within the given moves.
 	 */
-	private double distance(Square square1, Square square2) {
-		return Math.hypot(square1.col() - square2.col(), square1.row() - square2.row());
+	public boolean canReach(Square start, Square goal, int moves){
+		int needed = movesBetween(start, goal);
+		return needed >= 0 && needed <= moves;
 	}
-	
+
 	/**
-	 * Makes a list of up to four neighbours of a square, that is
-	 * the squares above, below, to the left and to the right of the
-	 * given square.
-	 * @param node The square to find the neighbours of.
-	 * @return A list of squares above, below, to the left and to
-	 * the right of the given square.
-	 */
-	private List<Square> setupNeighbours(Square node, Square goal, GameOfCluedo game){
-		List<Square> neighbours = new ArrayList<Square>();
-		// determine neighbour positions
-		int nodeRow = node.row();
-		int nodeCol = node.col();
-		int leftCol = nodeCol - 1;
-		int rightCol = nodeCol + 1;
-		int upRow = nodeRow - 1;
-		int downRow = nodeRow + 1;
-		// make a dummy player at the position of the node
-		Player mock = new Player(node.row(), node.col());
-		// add all valid neighbours to list
-		if(mock.canMoveLeft(this, game)){
-			neighbours.add(board[nodeRow][leftCol]);}
-		if(mock.canMoveRight(this, game)){
-			neighbours.add(board[nodeRow][rightCol]);}
-		if(mock.canMoveUp(this, game)){
-			neighbours.add(board[upRow][nodeCol]);}
-		if(mock.canMoveDown(this, game)){
-			neighbours.add(board[downRow][nodeCol]);}
-		
-		return neighbours;
+	 * Gets the walking distance table for this board, building it
+	 * if this is the first time it is needed. Boards with too many
+	 * squares have none, as it grows with the square of their size.
+	 * @return The distance table for this board, or null if it has none
+	 */
+	private DistanceTable distances(){
+		DistanceTable table = distances;
+		if(table == null && storeDistances){
+			synchronized(this){
+				if(distances == null){
+					distances = new DistanceTable(this);
+				}
+				table = distances;
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * Follows the cached cheapest route between two squares, stepping
+	 * each time onto a neighbour whose distance to the goal is exactly one
+	 * step closer.
+	 * @param start The first square in the path
+	 * @param goal The last square in the path
+	 * @param packed The packed table distance between start and goal
+	 * @param game The current game
+	 * @return The squares in the route excluding the start square, or null
+	 * if another player is standing in the way.
+	 */
+	private List<Square> cachedPath(Square start, Square goal, int packed, GameOfCluedo game){
+		DistanceTable table = distances();
+		List<Square> path = new ArrayList<Square>(packed & 0xFF);
+		int node = indexOf(start);
+		int goalIndex = indexOf(goal);
+		int remaining = packed;
+		while(node != goalIndex){
+			int next = -1;
+			for(int edge = neighbourStart[node]; edge < neighbourStart[node+1] && next < 0; edge++){
+				int neigh = neighbours[edge];
+				int fromNeigh = table.packedDistance(neigh, goalIndex);
+				int step = ((neighbourRules[edge] & USES_MOVE) << 8) + 1;
+				if(fromNeigh >= 0 && fromNeigh + step == remaining){
+					// check the route is still open with players on the board
+					if(isBlocked(edge, neigh, game)){
+						return null;
+					}
+					next = neigh;
+					remaining -= step;
+				}
+			}
+			if(next < 0){
+				return null; // no cached route out of this square
+			}
+			path.add(board[next / cols][next % cols]);
+			node = next;
+		}
+		return path;
+	}
+
+	/**
+	 * Estimates the cost from a square to the goal, for use as the A*
+	 * heuristic. Every step costs at least one, so the Manhattan distance
+	 * never overestimates.
+	 * @param index The index of the square
+	 * @param goalIndex The index of the goal square
+	 * @return The Manhattan distance between the two squares.
+	 */
+	private int estimate(int index, int goalIndex) {
+		if(goalIndex < 0){
+			return 0; // no goal, so search evenly in every direction
+		}
+		return Math.abs(index % cols - goalIndex % cols)
+				+ Math.abs(index / cols - goalIndex / cols);
+	}
+
+	/**
+	 * Gets the index of a square in the flattened board.
+	 * @param sq The square to find the index of
+	 * @return The index of the square, row by row.
+	 */
+	private int indexOf(Square sq) {
+		return sq.row()*cols + sq.col();
 	}
 
 	/**
@@ -284,8 +1112,8 @@ public class Board {
 	 * @param row The row to check
 	 * @return True iff the row is within bounds of the board
 	 */
-	public static boolean validRow(int row){
-		return row >= 0 && row < ROWS;
+	public boolean validRow(int row){
+		return row >= 0 && row < rows;
 	}
 
 	/**
@@ -293,41 +1121,47 @@ public class Board {
 	 * @param col The column to check
 	 * @return True iff the column is within bounds of the board
 	 */
-	public static boolean validCol(int col){
-		return col >= 0 && col < COLS;
+	public boolean validCol(int col){
+		return col >= 0 && col < cols;
 	}
 
 	/**
-	 * A tuple class used in the A* search algorithm.
-	 *
+	 * A board as it is read from a file, before the board is built from it.
 	 */
-	private class AStarNode implements Comparable<AStarNode> {
-		public Square node;
-		public Square from;
-		public double costToHere;
-		public double totalCostToGoal;
-		
+	private static class Layout {
+		private final int rows;
+		private final int cols;
+		private final Square[][] squares;
+		private final int[] starts = new int[BoardCompiler.CHARACTER_COUNT];
+		private String imageName;
+		private int[] neighbourStart;
+		private int[] neighbours;
+
+		public Layout(int rows, int cols){
+			this.rows = rows;
+			this.cols = cols;
+			this.squares = new Square[rows][cols];
+		}
+
 		/**
-		 * Constructor for class AStarNode
-		 * @param node The node represented by this class
-		 * @param from The parent of this node
-		 * @param costToHere The cost from the start node to this node
-		 * @param totalCostToGoal costToHere + the estimated distance to the goal
+		 * Checks whether a row and column are on the board.
 		 */
-		public AStarNode(Square node, Square from,
-				double costToHere, double totalCostToGoal) {
-			this.node = node;
-			this.from = from;
-			this.costToHere = costToHere;
-			this.totalCostToGoal = totalCostToGoal;
+		public boolean isOnBoard(int row, int col){
+			return row >= 0 && row < rows && col >= 0 && col < cols;
 		}
 
-		@Override
-		public int compareTo(AStarNode o) {
-			if(o.totalCostToGoal < totalCostToGoal){ return 1;}
-			else if(o.totalCostToGoal == totalCostToGoal){ return 0;}
-			else { return -1;}
+		/**
+		 * Gets the index of a square named in a board file.
+		 * @return The index of the square
+		 */
+		public int index(File file, String row, String col){
+			int r = Integer.parseInt(row);
+			int c = Integer.parseInt(col);
+			if(!isOnBoard(r, c)){
+				throw badBoard(file, r+", "+c+" is not on the board");
+			}
+			return r*cols + c;
 		}
-		
 	}
+
 }
@@ -0,0 +1,147 @@
+package cluedogame;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.zip.CRC32;
+
+import cluedogame.sqaures.DoorSquare;
+import cluedogame.sqaures.HallwaySquare;
+import cluedogame.sqaures.RoomSquare;
+import cluedogame.sqaures.ShortcutSquare;
+import cluedogame.sqaures.Square;
+
+/**
+ * Compiles the board from its text file into a flat binary file, which
+ * Board maps into memory and reads without parsing. The text file stays
+ * the one to edit; run this again after changing it. Board only uses a
+ * compiled file whose recorded length and CRC-32 checksum match the text
+ * file, so a stale compiled file is ignored whatever the files' dates.
+ * The text file's date is recorded too, so that the checksum need only be
+ * worked out again when the date has changed.
+ * <p>
+ * The compiled file holds, in order: the MAGIC number, the VERSION, the
+ * length and CRC-32 checksum of the text file as ints, its last modified
+ * time as a long, then the number of rows, the number of columns and the
+ * number of neighbour entries, as ints; then one byte per square for each of the square's
+ * type, the card id of the room it is in or opens to and its door's
+ * entry direction; then one int per square for the square a shortcut
+ * leads to; then the neighbour table's start of each square and its
+ * entries, the start square of each character by card id, and the
+ * length and characters of the board's image name, as ints. Squares are
+ * indexed row*columns + col, and values that do not apply are NONE, or
+ * -1 for ints.
+ * @author Sarah Dobie, Chris Read
+ *
+ */
+public class BoardCompiler {
+
+	public static final int MAGIC = 0x434C4244; // "CLBD"
+	public static final int VERSION = 4;
+	public static final int CHARACTER_COUNT = 6; // the characters a board may give a start square
+
+	// square types
+	public static final byte BLANK = 0;
+	public static final byte HALLWAY = 1;
+	public static final byte ROOM = 2;
+	public static final byte DOOR = 3;
+	public static final byte SHORTCUT = 4;
+	public static final byte NONE = -1;
+
+	/**
+	 * Compiles a board file, to a file of the same name ending .bin.
+	 * @param args Optionally, the board file to compile (by default
+	 * boardFile.txt)
+	 */
+	public static void main(String[] args) throws IOException {
+		File source = new File(args.length > 0 ? args[0] : Board.BOARD_FILE);
+		File out = Board.compiledFile(source);
+		compile(source, out);
+		System.out.println("Compiled "+source+" to "+out);
+	}
+
+	/**
+	 * Gets the checksum recorded in a compiled file for the text file it
+	 * was compiled from.
+	 * @param source The contents of the text file
+	 * @return The CRC-32 of the contents
+	 */
+	static int checksum(byte[] source){
+		CRC32 crc = new CRC32();
+		crc.update(source, 0, source.length);
+		return (int)crc.getValue();
+	}
+
+	/**
+	 * Compiles a board file.
+	 * @param source The text board file
+	 * @param out The file to write to
+	 * @throws IOException If either file could not be read or written
+	 */
+	public static void compile(File source, File out) throws IOException {
+		byte[] text = Files.readAllBytes(source.toPath());
+		Board board = new Board(source, false);
+		int cols = board.getCols();
+		int cells = board.getRows()*cols;
+		int[] neighbourStart = board.neighbourStart();
+		int[] neighbours = board.neighbours();
+		String image = board.getImageName() == null ? "" : board.getImageName();
+		int[] starts = new int[CHARACTER_COUNT];
+		for(int id = 0; id < CHARACTER_COUNT; id++){
+			Square start = board.startSquare(id);
+			starts[id] = start.row()*cols + start.col();
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(7*4 + 8 + 3*cells
+				+ 4*(2*cells + 1 + neighbours.length + CHARACTER_COUNT + 1 + image.length()));
+		buffer.putInt(MAGIC).putInt(VERSION).putInt(text.length).putInt(checksum(text))
+				.putLong(source.lastModified()).putInt(board.getRows()).putInt(cols)
+				.putInt(neighbours.length);
+		byte[] types = new byte[cells];
+		byte[] rooms = new byte[cells];
+		byte[] dirs = new byte[cells];
+		int[] links = new int[cells];
+		for(int i = 0; i < cells; i++){
+			Square sq = board.squareAt(i / cols, i % cols);
+			rooms[i] = NONE;
+			dirs[i] = NONE;
+			links[i] = -1;
+			if(sq instanceof HallwaySquare){
+				types[i] = HALLWAY;
+			} else if(sq instanceof RoomSquare){
+				types[i] = ROOM;
+				rooms[i] = (byte)((RoomSquare)sq).getRoomId();
+			} else if(sq instanceof DoorSquare){
+				DoorSquare door = (DoorSquare)sq;
+				types[i] = DOOR;
+				rooms[i] = (byte)door.getRoomId();
+				dirs[i] = (byte)door.getEnterDir().ordinal();
+			} else if(sq instanceof ShortcutSquare){
+				ShortcutSquare shortcut = (ShortcutSquare)sq;
+				types[i] = SHORTCUT;
+				rooms[i] = (byte)shortcut.startRoomId();
+				links[i] = shortcut.toRow()*cols + shortcut.toCol();
+			} else {
+				types[i] = BLANK;
+			}
+		}
+		buffer.put(types).put(rooms).put(dirs);
+		IntBuffer ints = buffer.asIntBuffer();
+		ints.put(links).put(neighbourStart).put(neighbours).put(starts).put(image.length());
+		for(int i = 0; i < image.length(); i++){
+			ints.put(image.charAt(i));
+		}
+		buffer.rewind();
+		try(RandomAccessFile file = new RandomAccessFile(out, "rw")){
+			file.setLength(0);
+			FileChannel channel = file.getChannel();
+			while(buffer.hasRemaining()){
+				channel.write(buffer);
+			}
+		}
+	}
+
+}
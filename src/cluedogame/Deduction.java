@@ -0,0 +1,173 @@
+package cluedogame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import cluedogame.cards.CardBits;
+
+/**
+ * What one player has worked out about the other players' hands, kept
+ * as sets of card bits. For every player it tracks the cards they must
+ * hold and the cards they might hold, narrowing both down after every
+ * suggestion. The murder cards are whatever nobody can be holding.
+ * @author Sarah Dobie, Chris Read
+ *
+ */
+public class Deduction {
+
+	private Player owner; // the player making the deductions
+	private List<Player> players; // every player, in the order they refute suggestions
+	private int[] known; // the cards each player is known to hold
+	private int[] possible; // the cards each player might hold
+	private List<int[]> clues = new ArrayList<int[]>(); // {player, cards}: the player holds one of the cards
+
+	/**
+	 * Constructor for class Deduction. The owner starts out knowing only
+	 * their own hand, which must already have been dealt.
+	 * @param owner The player making the deductions
+	 * @param players Every player in the game
+	 */
+	public Deduction(Player owner, List<Player> players){
+		this.owner = owner;
+		this.players = players;
+		this.known = new int[players.size()];
+		this.possible = new int[players.size()];
+		int hand = owner.getHandBits();
+		for(int p=0; p<possible.length; p++){
+			possible[p] = CardBits.ALL & ~hand;
+		}
+		int self = players.indexOf(owner);
+		known[self] = hand;
+		possible[self] = hand;
+	}
+
+	/**
+	 * Learns what can be learnt from a suggestion. If the owner made it,
+	 * the players asked before the refuter hold none of the cards the
+	 * owner had not seen, and the refuter holds the card they showed.
+	 * Otherwise the refuter holds at least one of the suggested cards.
+	 * @param suggestion The suggestion and its response
+	 */
+	public void suggestionMade(Suggestion suggestion){
+		int cards = suggestion.getCardBits();
+		Player refuter = suggestion.getRefuter();
+		if(suggestion.getSuggester() == owner){
+			// everyone asked before the refuter had nothing to show
+			int unseen = cards & ~owner.getSeenBits();
+			for(Player p : players){
+				if(p == refuter){
+					break;
+				}
+				if(p != owner){
+					possible[players.indexOf(p)] &= ~unseen;
+				}
+			}
+			if(refuter != null){
+				hold(players.indexOf(refuter), CardBits.bit(suggestion.getCard()));
+			}
+		} else if(refuter != null && refuter != owner){
+			clues.add(new int[]{players.indexOf(refuter), cards});
+		}
+		resolveClues();
+	}
+
+	/**
+	 * Records that a player holds a card, which nobody else can then hold.
+	 * @param player The index of the player
+	 * @param card The bit of the card
+	 */
+	private void hold(int player, int card){
+		known[player] |= card;
+		for(int p=0; p<possible.length; p++){
+			if(p != player){
+				possible[p] &= ~card;
+			}
+		}
+	}
+
+	/**
+	 * Narrows down each clue to the cards its player might still hold,
+	 * until no clue can be narrowed any further. A clue narrowed down to a
+	 * single card means the player holds it.
+	 */
+	private void resolveClues(){
+		boolean changed = true;
+		while(changed){
+			changed = false;
+			for(int i=clues.size()-1; i>=0; i--){
+				int[] clue = clues.get(i);
+				int player = clue[0];
+				int cards = clue[1] & possible[player];
+				if((cards & known[player]) != 0){
+					clues.remove(i); // already known to hold one of them
+				} else if(CardBits.isSingle(cards)){
+					hold(player, cards);
+					clues.remove(i);
+					changed = true;
+				} else {
+					clue[1] = cards;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gets the cards a player is known to hold.
+	 * @param player The player
+	 * @return The bits of the cards the player is known to hold
+	 */
+	public int knownHand(Player player){
+		return known[players.indexOf(player)];
+	}
+
+	/**
+	 * Gets the cards a player might hold.
+	 * @param player The player
+	 * @return The bits of the cards the player has not been ruled out of holding
+	 */
+	public int possibleHand(Player player){
+		return possible[players.indexOf(player)];
+	}
+
+	/**
+	 * Gets the cards which might be murder cards: those the owner has not
+	 * seen and nobody is known to hold. If nobody can be holding any card
+	 * of a kind, that card must be the murder card of its kind.
+	 * @return The bits of the cards which might be murder cards
+	 */
+	public int candidates(){
+		int held = owner.getSeenBits();
+		int holdable = 0;
+		for(int p=0; p<known.length; p++){
+			held |= known[p];
+			holdable |= possible[p];
+		}
+		int candidates = CardBits.ALL & ~held;
+		int murder = candidates & ~holdable;
+		int[] kinds = {CardBits.CHARACTERS, CardBits.WEAPONS, CardBits.ROOMS};
+		for(int kind : kinds){
+			if(CardBits.isSingle(murder & kind)){
+				candidates = (candidates & ~kind) | (murder & kind);
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * Gets the murder cards, if they have been worked out.
+	 * @return The card ids of the character, weapon and room, in that
+	 * order, or null if there is more than one candidate of any kind.
+	 */
+	public int[] solution(){
+		int candidates = candidates();
+		int character = candidates & CardBits.CHARACTERS;
+		int weapon = candidates & CardBits.WEAPONS;
+		int room = candidates & CardBits.ROOMS;
+		if(CardBits.isSingle(character) && CardBits.isSingle(weapon) && CardBits.isSingle(room)){
+			return new int[]{Integer.numberOfTrailingZeros(character),
+					Integer.numberOfTrailingZeros(weapon), Integer.numberOfTrailingZeros(room)};
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,170 @@
+package cluedogame;
+
+import java.util.Arrays;
+
+import cluedogame.sqaures.Square;
+
+/**
+ * A table of the shortest walking distance between every pair of
+ * steppable squares on a board, ignoring any players in the way.
+ * Each entry packs the moves used by the route into the high byte and
+ * the squares stepped into the low byte, so the cheapest route can be
+ * followed by comparing entries of neighbouring squares.
+ * @author Sarah Dobie, Chris Read
+ *
+ */
+class DistanceTable {
+
+	public static final int NO_ROUTE = -1; // the goal cannot be reached
+	public static final int UNKNOWN = -2; // the route is too long to be stored
+
+	private static final char NO_ROUTE_ENTRY = 0xFFFF;
+	private static final char UNKNOWN_ENTRY = 0xFFFE;
+	private static final int MAX_STORED = 0xFF; // the largest stored move or step count
+
+	private final int cols;
+	private final int stepLimit; // a move costs more than this many steps while searching
+	private final int[] denseIndex; // board index -> table index, or -1 if not steppable
+	private final int size; // the number of steppable squares
+	private final char[] entries; // size*size packed distances, by start then goal
+	private final int[] neighbourStart; // the board's neighbour table
+	private final int[] neighbours;
+	private final byte[] neighbourRules;
+
+	/**
+	 * Constructor for class DistanceTable. Runs a search from every
+	 * steppable square on the board.
+	 * @param board The board to measure
+	 */
+	public DistanceTable(Board board){
+		int rows = board.getRows();
+		cols = board.getCols();
+		stepLimit = rows*cols;
+		neighbourStart = board.neighbourStart();
+		neighbours = board.neighbours();
+		neighbourRules = board.neighbourRules();
+		// give each steppable square a dense index
+		denseIndex = new int[rows*cols];
+		int count = 0;
+		for(int r=0; r<rows; r++){
+			for(int c=0; c<cols; c++){
+				denseIndex[r*cols + c] = board.squareAt(r, c).isSteppable() ? count++ : -1;
+			}
+		}
+		size = count;
+		entries = new char[size*size];
+		Arrays.fill(entries, NO_ROUTE_ENTRY);
+		// search outwards from every steppable square
+		SearchContext search = board.acquireSearch();
+		try{
+			for(int start=0; start<rows*cols; start++){
+				if(denseIndex[start] >= 0){
+					fillRow(start, search);
+				}
+			}
+		} finally {
+			board.releaseSearch(search);
+		}
+	}
+
+	/**
+	 * Runs a search ignoring players from the given square, and fills in
+	 * the distance from it to every other square.
+	 * @param start The board index of the square to search from
+	 * @param search The search context to use
+	 */
+	private void fillRow(int start, SearchContext search){
+		search.begin();
+		IntMinHeap fringe = search.fringe();
+		search.reach(start, 0, start);
+		fringe.offer(start, 0);
+		int rowOffset = denseIndex[start]*size;
+		while(!fringe.isEmpty()){
+			int node = fringe.poll();
+			if(search.isClosed(node)){
+				continue; // stale queue entry
+			}
+			search.close(node);
+			entries[rowOffset + denseIndex[node]] = pack(search.cost(node));
+			for(int edge = neighbourStart[node]; edge < neighbourStart[node+1]; edge++){
+				relax(node, edge, search);
+			}
+		}
+	}
+
+	/**
+	 * Offers a neighbour of an expanded square to the fringe if it is
+	 * cheaper to reach than before.
+	 */
+	private void relax(int node, int edge, SearchContext search){
+		int neigh = neighbours[edge];
+		if(search.isClosed(neigh)){
+			return;
+		}
+		int costToNeigh = search.cost(node) + (neighbourRules[edge] & Board.USES_MOVE)*stepLimit + 1;
+		if(costToNeigh < search.cost(neigh)){
+			search.reach(neigh, costToNeigh, node);
+			search.fringe().offer(neigh, costToNeigh);
+		}
+	}
+
+	/**
+	 * Packs a search cost into a table entry.
+	 * @param cost The search cost, moves*stepLimit + steps
+	 * @return The table entry, or UNKNOWN_ENTRY if either count is too large.
+	 */
+	private char pack(int cost){
+		int moves = cost / stepLimit;
+		int steps = cost % stepLimit;
+		if(moves >= MAX_STORED || steps >= MAX_STORED){
+			return UNKNOWN_ENTRY;
+		}
+		return (char)((moves << 8) | steps);
+	}
+
+	/**
+	 * Gets the packed distance between two squares.
+	 * @param from The start square
+	 * @param to The goal square
+	 * @return The moves used in the high byte and the squares stepped in
+	 * the low byte, or NO_ROUTE or UNKNOWN.
+	 */
+	public int packedDistance(Square from, Square to){
+		return packedDistance(from.row()*cols + from.col(), to.row()*cols + to.col());
+	}
+
+	/**
+	 * Gets the packed distance between two squares.
+	 * @param from The board index of the start square
+	 * @param to The board index of the goal square
+	 * @return The moves used in the high byte and the squares stepped in
+	 * the low byte, or NO_ROUTE or UNKNOWN.
+	 */
+	public int packedDistance(int from, int to){
+		int fromIndex = denseIndex[from];
+		int toIndex = denseIndex[to];
+		if(fromIndex < 0 || toIndex < 0){
+			return NO_ROUTE;
+		}
+		char entry = entries[fromIndex*size + toIndex];
+		if(entry == NO_ROUTE_ENTRY){
+			return NO_ROUTE;
+		} else if(entry == UNKNOWN_ENTRY){
+			return UNKNOWN;
+		}
+		return entry;
+	}
+
+	/**
+	 * Gets the number of moves needed to walk between two squares,
+	 * ignoring any players in the way.
+	 * @param from The start square
+	 * @param to The goal square
+	 * @return The number of moves, or NO_ROUTE or UNKNOWN.
+	 */
+	public int moves(Square from, Square to){
+		int packed = packedDistance(from, to);
+		return packed < 0 ? packed : packed >>> 8;
+	}
+
+}
@@ -1,21 +1,26 @@
 package cluedogame.GUI;
 
+import java.awt.AlphaComposite;
 import java.awt.Color;
+import java.awt.FontMetrics;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
 import java.awt.Image;
+import java.awt.Rectangle;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
 import java.awt.image.*;
-import java.io.File;
 import java.io.IOException;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 
-import javax.imageio.ImageIO;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
@@ -23,9 +28,13 @@ import javax.swing.Timer;
 
 import cluedogame.Board;
 import cluedogame.GameOfCluedo;
+import cluedogame.PathTree;
 import cluedogame.Player;
+import cluedogame.ReachableSquares;
 import cluedogame.cards.Card;
+import cluedogame.cards.CardBits;
 import cluedogame.sqaures.DoorSquare;
+import cluedogame.sqaures.HallwaySquare;
 import cluedogame.sqaures.RoomSquare;
 import cluedogame.sqaures.ShortcutSquare;
 import cluedogame.sqaures.Square;
@@ -38,27 +47,45 @@ import cluedogame.sqaures.Square;
 public class BoardCanvas extends JPanel implements MouseListener, MouseMotionListener, ActionListener {
 	
 	public static final int TOOLTIP_HEIGHT = 40; // the height of tooltip windows
+	public static final Color REACHABLE_SHADE = new Color(255, 255, 255, 70); // shade over squares in reach
+	public static final int FRAME_RATE = 40; // animation frames per second, several per step so steps are on time
+	public static final int STEP_DURATION = 100; // milliseconds a token takes to move one square
+	public static final int RAVE_FRAME_DURATION = 100; // milliseconds each picture of dave's dance is shown
+	public static final String STANDARD_BOARD_IMAGE = "board.png"; // the image of the standard board
 	
-	private CluedoFrame frame; // the frame containing this canvas
+	private GameView frame; // the view containing this canvas
 	private GameOfCluedo game; // the game represented on the board
 	private Image boardImage; // original board image
 	private Image daveBoardImage; // everything is dave
 	private Image[] daveRave; // and dave is dancing
+	private boolean daveImagesTried; // true once the dave images have been read, or failed to be
 	private List<Square> possiblePath; // the path to draw when mouse has moved
 	private Queue<Square> movingPlayerQueue = new LinkedList<Square>(); // path for current player to follow
-	private Timer timer = new Timer(100, this); // a thread used for animating player movement
+	private Timer timer = new Timer(1000/FRAME_RATE, this); // runs animations, only while there are any
+	private long nextStepTime; // when the moving token is next due to move, in nanoseconds
 	private Player currentPlayer; // the player whose turn it currently is
 	private boolean playerMoving = false; // true if a player is currently moving
-	private int raveCounter = 0; // rave image counter
+	private ReachableSquares reachable; // squares the current player can move to
+	private PathTree reachableTree; // the routes the reachable squares were found from
+	private int reachableRoll; // the roll the reachable squares were found with
+	private boolean reachableDrawn; // true if squares in reach were shaded in the last paint
+	private Map<Player, Rectangle> drawnTokens = new HashMap<Player, Rectangle>(); // where each token was last drawn
+	private int hoverRow = -1; // the row of the square the path preview was last found for
+	private int hoverCol = -1; // the column of the square the path preview was last found for
+	private ReachableSquares hoverReach; // the squares in reach when the hover paths were found
+	private Map<Square, List<Square>> hoverPaths = new HashMap<Square, List<Square>>(); // path preview to each square hovered over
+	
+	// the bottom layer of the board, which only changes between moves
+	private BufferedImage staticLayer; // the board with the squares in reach shaded
+	private Image staticBoard; // the scaled board image the static layer was drawn from
+	private ReachableSquares staticReach; // the squares shaded on the static layer, or null
+	private int raveCounter = 0; // the picture of dave's dance being shown
 	private boolean rave = false;
 	
 	// image fields
-	private Image resizedBoardImage; // resized board image
 	private Image cardsSeenImage; // cards seen window image
 	private Image daveSeenImage; // dave sees everything 
-	private Image cardsSeenResized;
 	private Image moveImage; // image used to draw player path
-	private Image moveImageResized;
 	
 	// tooltip fields
 	private String toolTipLine1; // the first line of the tooltip
@@ -69,14 +96,13 @@ public class BoardCanvas extends JPanel implements MouseListener, MouseMotionLis
 	
 	/**
 	 * Constructor for class BoardCanvas.
-	 * @param frame The CluedoFrame containing this canvas.
+	 * @param frame The view containing this canvas, usually a CluedoFrame.
 	 */
-	public BoardCanvas(CluedoFrame frame){
+	public BoardCanvas(GameView frame){
 		addMouseListener(this);
 		addMouseMotionListener(this);
 		this.frame = frame;
 		this.game = frame.getGame();
-		this.timer.start();
 		daveRave = new Image[2];
 		loadImages();
 	}
@@ -86,13 +112,30 @@ public class BoardCanvas extends JPanel implements MouseListener, MouseMotionLis
 	 */
 	public void loadImages() {
 		try {
-			boardImage = ImageIO.read(new File("Images"+File.separator+"board.png"));
-			cardsSeenImage = ImageIO.read(new File("Images"+File.separator+"CardsSeen.png"));
-			daveSeenImage = ImageIO.read(new File("Images"+File.separator+"DavesSeen.png"));
-			moveImage = ImageIO.read(new File("Images"+File.separator+"Move.png"));
-			daveBoardImage = ImageIO.read(new File("Images"+File.separator+"DaveBoard.png"));	
-			daveRave[0] = ImageIO.read(new File("Images"+File.separator+"DaveRave0.png"));	
-			daveRave[1] = ImageIO.read(new File("Images"+File.separator+"DaveRave1.png"));
+			String boardImageName = game.getBoard().getImageName();
+			boardImage = boardImageName != null ? ImageAssets.get(boardImageName) : planImage(game.getBoard());
+			cardsSeenImage = ImageAssets.get("CardsSeen.png");
+			moveImage = ImageAssets.get("Move.png");
+		} catch (IOException e) {
+			System.out.println("Could not read image file: "+e.getMessage());
+		}
+	}
+
+	/**
+	 * Loads the images only used in Dave mode, the first time Dave
+	 * mode is drawn. Images that cannot be read are only
+	 * tried and reported once.
+	 */
+	private void loadDaveImages() {
+		if(daveImagesTried){
+			return; // already loaded, or already reported as missing
+		}
+		daveImagesTried = true;
+		try {
+			daveSeenImage = ImageAssets.get("DavesSeen.png");
+			daveRave[0] = ImageAssets.get("DaveRave0.png");	
+			daveRave[1] = ImageAssets.get("DaveRave1.png");
+			daveBoardImage = ImageAssets.get("DaveBoard.png");	
 		} catch (IOException e) {
 			System.out.println("Could not read image file: "+e.getMessage());
 		}
@@ -106,23 +149,21 @@ public class BoardCanvas extends JPanel implements MouseListener, MouseMotionLis
 	@Override
 	public void paint(Graphics g){
 		int pixel = frame.getPixelSize();
-		// resize images
+		int squarePixel = squarePixel();
+		ScaledImageCache scaled = frame.getScaledImages();
 		if(frame.isDave()){
-			resizedBoardImage = daveBoardImage.getScaledInstance(frame.BOARD_CANVAS_WIDTH,
-					frame.BOARD_CANVAS_HEIGHT, Image.SCALE_FAST);
-			cardsSeenResized = daveSeenImage.getScaledInstance(frame.BOARD_CANVAS_WIDTH,
-					frame.BOARD_CANVAS_HEIGHT, Image.SCALE_FAST);
-		} else {
-			resizedBoardImage = boardImage.getScaledInstance(frame.BOARD_CANVAS_WIDTH,
-					frame.BOARD_CANVAS_HEIGHT, Image.SCALE_FAST);
-			cardsSeenResized = cardsSeenImage.getScaledInstance(frame.BOARD_CANVAS_WIDTH,
-					frame.BOARD_CANVAS_HEIGHT, Image.SCALE_FAST);
-		}
-		moveImageResized = moveImage.getScaledInstance(pixel*5,pixel*5, Image.SCALE_FAST);
-		// draw board
-		g.drawImage(resizedBoardImage, 0, 0, null);
+			loadDaveImages();
+		}
+		// draw board, with the squares the player can move to shaded
+		Image board = frame.isDave() && STANDARD_BOARD_IMAGE.equals(game.getBoard().getImageName())
+				? daveBoardImage : boardImage;
+		ReachableSquares reach = findReachable();
+		g.drawImage(staticLayer(scaled.get(board, frame.getBoardCanvasWidth(), frame.getBoardCanvasHeight()),
+				reach), 0, 0, null);
+		reachableDrawn = reach != null;
 		// draw shortest path
 		if(possiblePath != null){
+			Image moveImageResized = scaled.get(moveImage, squarePixel*5, squarePixel*5);
 			for(Square sq: possiblePath){
 				int x = frame.convertColToX(sq.col());
 				int y = frame.convertRowToY(sq.row());
@@ -131,7 +172,8 @@ public class BoardCanvas extends JPanel implements MouseListener, MouseMotionLis
 		}
 		// draw players
 		for(Player p : frame.getPlayers()){
-			p.draw(g, frame);
+			p.draw(g, frame, squarePixel);
+			drawnTokens.put(p, tokenBounds(p.row(), p.col()));
 		}
 		
 		// get funky
@@ -148,6 +190,117 @@ public class BoardCanvas extends JPanel implements MouseListener, MouseMotionLis
 		}
 	}
 
+	/**
+	 * Gets the bottom layer of the board: the board itself, with the
+	 * squares in reach shaded. The layer is only drawn again when the
+	 * board image or the squares in reach change.
+	 * @param board The board image, at the size of the canvas
+	 * @param reach The squares to shade, or null for none
+	 * @return The image of the static layer
+	 */
+	private Image staticLayer(Image board, ReachableSquares reach) {
+		if(board == staticBoard && reach == staticReach){
+			return staticLayer; // nothing has changed
+		}
+		int width = board.getWidth(null);
+		int height = board.getHeight(null);
+		if(staticLayer == null || staticLayer.getWidth() != width || staticLayer.getHeight() != height){
+			staticLayer = ScaledImageCache.scale(board, width, height);
+		} else {
+			Graphics2D g = staticLayer.createGraphics();
+			g.setComposite(AlphaComposite.Src); // replace the old layer completely
+			g.drawImage(board, 0, 0, null);
+			g.dispose();
+		}
+		if(reach != null){
+			Graphics g = staticLayer.getGraphics();
+			drawReachable(g, reach);
+			g.dispose();
+		}
+		staticBoard = board;
+		staticReach = reach;
+		return staticLayer;
+	}
+
+	/**
+	 * Draws a plan of a board which has no image: each square coloured
+	 * by what kind of square it is, one image pixel per square.
+	 * @param board The board to draw
+	 * @return The plan of the board
+	 */
+	private static BufferedImage planImage(Board board) {
+		BufferedImage plan = new BufferedImage(board.getCols(), board.getRows(), BufferedImage.TYPE_INT_RGB);
+		for(int r = 0; r < board.getRows(); r++){
+			for(int c = 0; c < board.getCols(); c++){
+				Square sq = board.squareAt(r, c);
+				Color colour;
+				if(sq instanceof HallwaySquare){
+					colour = new Color(225, 200, 140);
+				} else if(sq instanceof RoomSquare){
+					colour = new Color(150, 105, 70);
+				} else if(sq instanceof DoorSquare){
+					colour = new Color(200, 160, 100);
+				} else if(sq instanceof ShortcutSquare){
+					colour = new Color(90, 55, 35);
+				} else {
+					colour = new Color(35, 60, 40);
+				}
+				plan.setRGB(c, r, colour.getRGB());
+			}
+		}
+		return plan;
+	}
+
+	/**
+	 * Gets the pixel size of the art drawn on the board's squares. Art
+	 * squares are five pixels wide, so on the standard board this is the
+	 * window's pixel size, and on boards with more squares it is smaller.
+	 * @return The pixel size of tokens and path markers
+	 */
+	private int squarePixel() {
+		return Math.max(1, frame.convertColToX(1)/5);
+	}
+
+	/**
+	 * Shades every square the current player can move to this turn.
+	 * @param g The graphics object to draw with
+	 * @param reach The squares the player can move to
+	 */
+	private void drawReachable(Graphics g, ReachableSquares reach) {
+		g.setColor(REACHABLE_SHADE);
+		BitSet bits = reach.bits();
+		for(int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i+1)){
+			int row = i / game.getBoard().getCols();
+			int col = i % game.getBoard().getCols();
+			int x = frame.convertColToX(col);
+			int y = frame.convertRowToY(row);
+			g.fillRect(x, y, frame.convertColToX(col+1)-x, frame.convertRowToY(row+1)-y);
+		}
+	}
+
+	/**
+	 * Gets the squares the current player can move to, finding them
+	 * again only if the game's routes have changed, as they do whenever
+	 * any player moves, or the player has used moves since last time.
+	 * @return The squares the current player can move to, or null if no
+	 * player can move at the moment.
+	 */
+	private ReachableSquares findReachable() {
+		Player player = game.getCurrentPlayer();
+		if(player == null || playerMoving || game.getRoll() <= 0){
+			return null;
+		}
+		Board board = game.getBoard();
+		PathTree tree = game.getPaths().treeFrom(board.squareAt(player.row(), player.col()),
+				game.getRoll());
+		if(reachable == null || tree != reachableTree || game.getRoll() != reachableRoll){
+			reachable = tree.reachable(game.getRoll());
+			reachableTree = tree;
+			reachableRoll = game.getRoll();
+		}
+		return reachable;
+	}
+
 	/**
 	 * Does what it says on the box.
 	 * @param g The graphics object to draw with
@@ -158,13 +311,9 @@ public class BoardCanvas extends JPanel implements MouseListener, MouseMotionLis
 			return;
 		}
 		//successful rave
-		Image raveResized = daveRave[raveCounter].getScaledInstance(frame.BOARD_CANVAS_WIDTH,
-				frame.BOARD_CANVAS_HEIGHT, Image.SCALE_FAST);
+		Image raveResized = frame.getScaledImages().get(daveRave[raveCounter],
+				frame.getBoardCanvasWidth(), frame.getBoardCanvasHeight());
 		g.drawImage(raveResized, 0, 0, null);
-		raveCounter++;
-		if (raveCounter > 1){
-			raveCounter = 0;
-		}
 	}
 
 	/**
@@ -185,7 +334,7 @@ public class BoardCanvas extends JPanel implements MouseListener, MouseMotionLis
 				return;
 			}
 			RoomSquare r = (RoomSquare)s;
-			if (r.getRoom() != GameOfCluedo.BALL_ROOM){
+			if (r.getRoomId() != CardBits.id(GameOfCluedo.BALL_ROOM)){
 				rave = false;
 				return;
 			}
@@ -199,13 +348,16 @@ public class BoardCanvas extends JPanel implements MouseListener, MouseMotionLis
 	 * @param pixel The current pixel size
 	 */
 	private void drawCardsSeen(Graphics g, int pixel) {
-		if(currentPlayer == null){ // check the game is in play
+		Player player = game.getCurrentPlayer();
+		if(player == null){ // check the game is in play
 			return;
 		}
 		// draw the background
-		g.drawImage(cardsSeenResized, 0, 0, null);
-		Image icon = currentPlayer.getToken().getScaledInstance(9*pixel, 9*pixel, Image.SCALE_FAST);
-		List<Card> seen = currentPlayer.getCardsSeen();
+		Image background = frame.isDave() ? daveSeenImage : cardsSeenImage;
+		g.drawImage(frame.getScaledImages().get(background,
+				frame.getBoardCanvasWidth(), frame.getBoardCanvasHeight()), 0, 0, null);
+		Image icon = frame.getScaledImages().get(player.getToken(), 9*pixel, 9*pixel);
+		List<Card> seen = player.getCardsSeen();
 		// draws the player token next to all seen cards
 		for (Card c : seen){
 			int id = c.getID();
@@ -230,6 +382,7 @@ public class BoardCanvas extends JPanel implements MouseListener, MouseMotionLis
 		// hide the cards seen window if it's showing
 		if (game.cardsSeenWindow()){
 			game.setCardsSeenWindow(false);
+			repaint();
 			return;
 		}
 		// try to move the player to the clicked square
@@ -253,8 +406,8 @@ public class BoardCanvas extends JPanel implements MouseListener, MouseMotionLis
 		if(playerMoving){ // wait until any other players stop moving
 			return;
 		}
-		if(Board.validRow(goalRow) && Board.validCol(goalCol)){
-			Board board = game.getBoard();
+		Board board = game.getBoard();
+		if(board.validRow(goalRow) && board.validCol(goalCol)){
 			// check if there is a current player
 			currentPlayer = game.getCurrentPlayer();
 			if(currentPlayer == null){
@@ -264,8 +417,9 @@ public class BoardCanvas extends JPanel implements MouseListener, MouseMotionLis
 			// determine shortest path
 			Square start = board.squareAt(currentPlayer.row(), currentPlayer.col());
 			Square goal = board.squareAt(goalRow, goalCol);
-			List<Square> shortestPath = board.shortestPath(start, goal,
-					game.getRoll(), game);
+			List<Square> shortestPath = game.getPaths().shortestPath(start, goal,
+					game.getRoll());
+			repaintPath(possiblePath);
 			possiblePath = null;
 			// check for invalid path
 			if(shortestPath == null){
@@ -277,6 +431,7 @@ public class BoardCanvas extends JPanel implements MouseListener, MouseMotionLis
 			} else {
 				// move the player
 				this.movingPlayerQueue.addAll(shortestPath);
+				startAnimation();
 					
 				// check if player is in room or not
 				if(goal instanceof RoomSquare || goal instanceof ShortcutSquare){
@@ -304,36 +459,110 @@ public class BoardCanvas extends JPanel implements MouseListener, MouseMotionLis
 	@Override
 	public void mouseDragged(MouseEvent e) {}
 		
+	/**
+	 * Draws a tooltip box with two lines of text.
+	 * @param line1 The first line of the tooltip
+	 * @param line2 The second line of the tooltip
+	 * @param x The x position of the mouse
+	 * @param y The y position of the mouse
+	 * @param g The graphics object to draw with
+	 */
 	private void showToolTip(String line1, String line2, int x, int y, Graphics g){
-		// determine which of line1 and line2 is shorter in pixels
-		int line1Width = g.getFontMetrics().stringWidth(line1);
-		int line2Width = g.getFontMetrics().stringWidth(line2);
+		Rectangle box = toolTipBounds(line1, line2, x, y, g.getFontMetrics());
+		int lineX = box.x+5;
+		int line1Y = box.y+15;
+		int line2Y = box.y+35;
+		// draw the tooltip
+		g.setColor(Color.WHITE);
+		g.fillRect(box.x, box.y, box.width, TOOLTIP_HEIGHT);
+		g.setColor(Color.BLACK);
+		g.drawRect(box.x, box.y, box.width, TOOLTIP_HEIGHT);
+		g.drawString(line1, lineX, line1Y);
+		g.drawString(line2, lineX, line2Y);
+	}
+
+	/**
+	 * Determines where a tooltip box is drawn, keeping it on the board.
+	 * @param line1 The first line of the tooltip
+	 * @param line2 The second line of the tooltip
+	 * @param x The x position of the mouse
+	 * @param y The y position of the mouse
+	 * @param metrics The metrics of the font the tooltip is written in
+	 * @return The box the tooltip is drawn in
+	 */
+	private Rectangle toolTipBounds(String line1, String line2, int x, int y, FontMetrics metrics){
+		// determine which of line1 and line2 is longer in pixels
+		int line1Width = metrics.stringWidth(line1);
+		int line2Width = metrics.stringWidth(line2);
 		int maxWidth = Math.max(line1Width, line2Width);
 		// set up variables for drawing
 		int boxX = x;
 		int boxY = y+5;
 		int boxWidth = maxWidth+10;
-		int lineX = x+5;
-		int line1Y = y+20;
-		int line2Y = y+40;
 		// check if box is too far to right to draw
-		if(x > frame.BOARD_CANVAS_WIDTH - maxWidth){ // mouse is too far to the right
+		if(x > frame.getBoardCanvasWidth() - maxWidth){ // mouse is too far to the right
 			boxX -= maxWidth;
-			lineX -= maxWidth;
 		}
 		// check if box is too close to the bottom to draw
-		if(y > frame.BOARD_CANVAS_HEIGHT - TOOLTIP_HEIGHT){ // mouse too far down
+		if(y > frame.getBoardCanvasHeight() - TOOLTIP_HEIGHT){ // mouse too far down
 			boxY -= TOOLTIP_HEIGHT;
-			line1Y -= TOOLTIP_HEIGHT;
-			line2Y -= TOOLTIP_HEIGHT;
 		}
-		// draw the tooltip
-		g.setColor(Color.WHITE);
-		g.fillRect(boxX, boxY, boxWidth, TOOLTIP_HEIGHT);
-		g.setColor(Color.BLACK);
-		g.drawRect(boxX, boxY, boxWidth, TOOLTIP_HEIGHT);
-		g.drawString(line1, lineX, line1Y);
-		g.drawString(line2, lineX, line2Y);
+		return new Rectangle(boxX, boxY, boxWidth, TOOLTIP_HEIGHT);
+	}
+
+	/**
+	 * Repaints the area covered by the tooltip, if there is one.
+	 */
+	private void repaintToolTip(){
+		if(toolTipLine1 != null){
+			Rectangle box = toolTipBounds(toolTipLine1, toolTipLine2, toolTipX, toolTipY,
+					getFontMetrics(getFont()));
+			repaint(box.x, box.y, box.width+1, box.height+1); // include the border
+		}
+	}
+
+	/**
+	 * Gets the area a token covers when standing on a square.
+	 * @param row The row of the square
+	 * @param col The column of the square
+	 * @return The area the token is drawn in
+	 */
+	private Rectangle tokenBounds(int row, int col){
+		int pixel = squarePixel();
+		return new Rectangle(frame.convertColToX(col)-(2*pixel), frame.convertRowToY(row)-(2*pixel),
+				9*pixel, 9*pixel);
+	}
+
+	/**
+	 * Repaints the squares of a path preview.
+	 * @param path The squares to repaint, or null for none
+	 */
+	private void repaintPath(List<Square> path){
+		if(path == null){
+			return;
+		}
+		int pixel = squarePixel();
+		for(Square sq : path){
+			repaint(frame.convertColToX(sq.col()), frame.convertRowToY(sq.row()), pixel*5, pixel*5);
+		}
+	}
+
+	/**
+	 * Repaints the areas which change when a player moves: where their
+	 * token was last drawn and where it is now. If the squares in reach
+	 * are being shown, the whole board is repainted, as they will change.
+	 * @param player The player who moved
+	 */
+	public void repaintPlayer(Player player){
+		if(reachableDrawn || rave){
+			repaint();
+			return;
+		}
+		Rectangle old = drawnTokens.get(player);
+		if(old != null){
+			repaint(old);
+		}
+		repaint(tokenBounds(player.row(), player.col()));
 	}
 
 	@Override
@@ -341,11 +570,12 @@ public class BoardCanvas extends JPanel implements MouseListener, MouseMotionLis
 		// determine where the mouse is on the board
 		int row = frame.convertYToRow(e.getY());
 		int col = frame.convertXToCol(e.getX());
-		if(Board.validRow(row) && Board.validCol(col)){
+		if(game.getBoard().validRow(row) && game.getBoard().validCol(col)){
 			GameOfCluedo game = frame.getGame();
 			if(game != null){
 				displayShortestPath(row, col);
 				// check if hovering over player
+				repaintToolTip(); // clear the old tooltip
 				if(game.hasPlayerAt(row, col)){
 					Player p = game.getPlayerAt(row, col);
 					// set up tooltip
@@ -353,6 +583,7 @@ public class BoardCanvas extends JPanel implements MouseListener, MouseMotionLis
 					toolTipLine2 = p.getUserName();
 					toolTipX = e.getX();
 					toolTipY = e.getY();
+					repaintToolTip();
 				} else {
 					setToolTipToNull();
 				}
@@ -373,9 +604,11 @@ public class BoardCanvas extends JPanel implements MouseListener, MouseMotionLis
 
 	/**
 	 * Draw the shortest path between the current player and the mouse on
-	 * the board.
-	 * @param startRow The player's row
-	 * @param startCol The player's column
+	 * the board. Nothing is done while the mouse stays on the same square,
+	 * and the path to each square is only searched for once per position
+	 * and roll of the player.
+	 * @param startRow The row of the mouse
+	 * @param startCol The column of the mouse
 	 */
 	private void displayShortestPath(int startRow, int startCol) {
 		if(playerMoving){ // don't display a new path if a player is still moving
@@ -385,38 +618,83 @@ public class BoardCanvas extends JPanel implements MouseListener, MouseMotionLis
 		currentPlayer = game.getCurrentPlayer();
 		// if there is a current player, get their location
 		if(currentPlayer != null){
+			// the squares in reach change whenever the player moves or the turn changes
+			ReachableSquares reach = findReachable();
+			if(reach != hoverReach){
+				hoverPaths.clear(); // the old paths start from somewhere else
+				hoverReach = reach;
+			} else if(startRow == hoverRow && startCol == hoverCol){
+				return; // the mouse is still on the same square
+			}
+			hoverRow = startRow;
+			hoverCol = startCol;
 			Board board = game.getBoard();
 			Square playerPos = board.squareAt(currentPlayer.row(), currentPlayer.col());
 			Square mousePos = board.squareAt(startRow, startCol);
-			// find the path between player and mouse
-			List<Square> shortestPath = board.shortestPath(playerPos,
-					mousePos, game.getRoll(), game);
+			// no need to search if the mouse is out of reach
+			List<Square> shortestPath = null;
+			if(reach != null && reach.contains(mousePos)){
+				shortestPath = hoverPaths.get(mousePos);
+				if(shortestPath == null){
+					// find the path between player and mouse
+					shortestPath = game.getPaths().shortestPath(playerPos,
+							mousePos, game.getRoll());
+					hoverPaths.put(mousePos, shortestPath);
+				}
+			}
+			if(shortestPath == null ? possiblePath != null : !shortestPath.equals(possiblePath)){
+				// repaint the squares of the old and new paths
+				repaintPath(possiblePath);
+				repaintPath(shortestPath);
+			}
 			this.possiblePath = shortestPath;
-			repaint();
+		}
+	}
+
+	/**
+	 * Starts the animation timer, if it is not already running. The
+	 * first step of a queued path is taken on the next frame.
+	 */
+	private void startAnimation() {
+		if(!timer.isRunning()){
+			timer.start();
 		}
 	}
 
 	@Override
-	public void actionPerformed(ActionEvent e) { // called every 100 milliseconds
+	public void actionPerformed(ActionEvent e) { // called every frame while animating
+		long now = System.nanoTime();
 		if(!movingPlayerQueue.isEmpty()){ // a player should be moving
-			playerMoving = true;
-			GameOfCluedo game = frame.getGame();
-			Board board = game.getBoard();
-			Square fromSquare = board.squareAt(currentPlayer.row(), currentPlayer.col());
-			Square sq = movingPlayerQueue.poll();
-			// move the player to the next square
-			currentPlayer.moveTo(sq);
-			// use up player moves
-			if(!(sq instanceof RoomSquare)){
-				game.useMoves(1);
-			} else if(fromSquare instanceof DoorSquare){
-				game.useMoves(1);
+			if(!playerMoving){
+				playerMoving = true;
+				nextStepTime = now;
+				repaint(); // hide the squares in reach while moving
 			}
-			checkRave();
-		} else {
+			// take every step that is due by now, so a late frame does not
+			// slow the token down
+			while(!movingPlayerQueue.isEmpty() && now - nextStepTime >= 0){
+				nextStepTime += STEP_DURATION*1000000L;
+				GameOfCluedo game = frame.getGame();
+				Square sq = movingPlayerQueue.poll();
+				// move the player to the next square, using up player moves
+				// (the game tells the frame which squares to repaint)
+				game.stepPlayer(currentPlayer, sq);
+				checkRave();
+			}
+		} else if(playerMoving){
 			playerMoving = false;
+			repaint(); // show the squares in reach from where the player stopped
+		}
+		if(rave){
+			checkRave(); // dave may have left
+			int picture = (int)(now / (RAVE_FRAME_DURATION*1000000L) % daveRave.length);
+			if(!rave || picture != raveCounter){
+				raveCounter = picture;
+				repaint(); // dave's dance fills the whole board
+			}
+		} else if(!playerMoving){
+			timer.stop(); // nothing left to animate
 		}
-		frame.repaintAll();
 	}
 	
 }
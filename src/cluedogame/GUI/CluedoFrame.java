@@ -12,6 +12,7 @@ import cluedogame.sqaures.Square;
 
 import java.awt.*;
 import java.awt.event.*;
+import java.io.File;
 import java.util.*;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -21,7 +22,7 @@ import java.util.concurrent.TimeUnit;
  * 
  * @author Sarah Dobie, Chris Read
  */
-public class CluedoFrame extends JFrame implements KeyListener, MouseMotionListener {
+public class CluedoFrame extends JFrame implements GameView, KeyListener, MouseMotionListener {
 	
 	public static final int PREF_BUTTON_SIZE = GroupLayout.DEFAULT_SIZE;
 	public static final int MAX_BUTTON_SIZE = Short.MAX_VALUE;
@@ -30,6 +31,9 @@ public class CluedoFrame extends JFrame implements KeyListener, MouseMotionListe
 	public static final int MIN_BOARD_CANVAS_HEIGHT = 125;
 	public static final int MIN_DASH_CANVAS_WIDTH = 40;
 	public static final int MIN_DASH_CANVAS_HEIGHT = MIN_BOARD_CANVAS_HEIGHT;
+	// images only used in Dave mode, which are not read until it is turned on
+	public static final String[] DAVE_IMAGES = {"DaveBoard.png", "DavesSeen.png", "DaveRave0.png",
+		"DaveRave1.png", "DaveDashBoard.png", "DaveName.png"};
 	public int BOARD_CANVAS_WIDTH = 600;
 	public int BOARD_CANVAS_HEIGHT = 625;
 	public int DASH_CANVAS_WIDTH = 200;
@@ -56,6 +60,7 @@ public class CluedoFrame extends JFrame implements KeyListener, MouseMotionListe
     private JMenuItem gameInfiniteMoves;
     
 	private int pixelSize = 5; // size of the pixels of the art
+	private ScaledImageCache scaledImages = new ScaledImageCache(); // art resized to the pixel size
     
     // Game info
     private GameOfCluedo game;
@@ -67,11 +72,12 @@ public class CluedoFrame extends JFrame implements KeyListener, MouseMotionListe
     
     /**
      * Constructor for class CluedoFrame
+     * @param board The board to play on
      */
-    public CluedoFrame() {
+    public CluedoFrame(Board board) {
     	this.addComponentListener(new CompAdapter(this));
     	addMouseMotionListener(this);
-    	this.game = new GameOfCluedo(this);
+    	this.game = new GameOfCluedo(this, board);
     	this.dialogHandler = new DialogHandler(this);
         initialiseUI();
         dialogHandler.selectPlayers();
@@ -376,7 +382,7 @@ public class CluedoFrame extends JFrame implements KeyListener, MouseMotionListe
 				JOptionPane.WARNING_MESSAGE);
 		if(r == 0){
 			dispose();
-			new CluedoFrame();
+			new CluedoFrame(game.getBoard());
 		}
     }
 
@@ -438,6 +444,11 @@ public class CluedoFrame extends JFrame implements KeyListener, MouseMotionListe
 	 */
 	private void toggleDaveMode() {                                           
 	    daveMode = !daveMode;
+	    repaintAll();
+	    if(daveMode){
+	    	// start reading Dave's images before the canvases ask for them
+	    	ImageAssets.prefetch(DAVE_IMAGES);
+	    }
 	}
 
 	@Override
@@ -510,6 +521,7 @@ public class CluedoFrame extends JFrame implements KeyListener, MouseMotionListe
 	 * @param message The text to be displayed in the dialog
 	 * @param title The title of the dialog box
 	 */
+	@Override
 	public void showDialog(String message, String title){
 		JOptionPane.showConfirmDialog(this, new JLabel(message),
 				title, JOptionPane.DEFAULT_OPTION,
@@ -533,6 +545,7 @@ public class CluedoFrame extends JFrame implements KeyListener, MouseMotionListe
 	 * be pressed by the user.
 	 * @param canTakeShortcut True to enable the button, false to disable.
 	 */
+	@Override
 	public void enableShortcutBtn(boolean canTakeShortcut) {
 		takeShortcutBtn.setEnabled(canTakeShortcut);
 		gameTakeShortcut.setEnabled(canTakeShortcut);
@@ -544,6 +557,7 @@ public class CluedoFrame extends JFrame implements KeyListener, MouseMotionListe
 	 * be pressed by the user.
 	 * @param canSuggest True to enable the button, false to disable.
 	 */
+	@Override
 	public void enableSuggestBtn(boolean canSuggest) {
 		suggestBtn.setEnabled(canSuggest);
 		gameSuggest.setEnabled(canSuggest);
@@ -580,6 +594,7 @@ public class CluedoFrame extends JFrame implements KeyListener, MouseMotionListe
 	 * Returns the current GameOfCluedo being played.
 	 * @return The current GameOfCluedo
 	 */
+	@Override
 	public GameOfCluedo getGame() {
 		return game;
 	}
@@ -588,6 +603,7 @@ public class CluedoFrame extends JFrame implements KeyListener, MouseMotionListe
 	 * Gets all players in the game.
 	 * @return A List of all players involved in the game
 	 */
+	@Override
 	public List<Player> getPlayers(){
 		return game.getPlayers();
 	}
@@ -600,11 +616,32 @@ public class CluedoFrame extends JFrame implements KeyListener, MouseMotionListe
 		return dialogHandler;
 	}
 
+	@Override
+	public int getBoardCanvasWidth(){
+		return BOARD_CANVAS_WIDTH;
+	}
+
+	@Override
+	public int getBoardCanvasHeight(){
+		return BOARD_CANVAS_HEIGHT;
+	}
+
+	@Override
+	public int getDashCanvasWidth(){
+		return DASH_CANVAS_WIDTH;
+	}
+
+	@Override
+	public int getDashCanvasHeight(){
+		return DASH_CANVAS_HEIGHT;
+	}
+
 	/**
 	 * Converts a column position to an absolute x position.
 	 * @param c The column position to convert
 	 * @return The absolute x position of the left of the column.
 	 */
+	@Override
 	public int convertColToX(int c){
 		return (int)(squareWidth()*c);
 	}
@@ -614,6 +651,7 @@ public class CluedoFrame extends JFrame implements KeyListener, MouseMotionListe
 	 * @param x The x position to convert
 	 * @return The column containing the x position
 	 */
+	@Override
 	public int convertXToCol(int x){
 		return (int)((double)x/squareWidth());
 	}
@@ -623,7 +661,7 @@ public class CluedoFrame extends JFrame implements KeyListener, MouseMotionListe
 	 * @return The width of a board square
 	 */
 	public double squareWidth() {
-		double width = (double)BOARD_CANVAS_WIDTH/(double)Board.COLS;
+		double width = (double)BOARD_CANVAS_WIDTH/(double)game.getBoard().getCols();
 		return width;
 	}
 
@@ -632,6 +670,7 @@ public class CluedoFrame extends JFrame implements KeyListener, MouseMotionListe
 	 * @param r The row position to convert
 	 * @return The absolute y position of the top of the row.
 	 */
+	@Override
 	public int convertRowToY(int r){
 		return (int)(squareHeight()*r);
 	}
@@ -641,6 +680,7 @@ public class CluedoFrame extends JFrame implements KeyListener, MouseMotionListe
 	 * @param y The y position to convert
 	 * @return The row containing the y position
 	 */
+	@Override
 	public int convertYToRow(int y){
 		return (int)((double)y/squareHeight());
 	}
@@ -650,18 +690,29 @@ public class CluedoFrame extends JFrame implements KeyListener, MouseMotionListe
 	 * @return The height of a board square
 	 */
 	public double squareHeight() {
-		double height = (double)BOARD_CANVAS_HEIGHT/(double)Board.ROWS;
+		double height = (double)BOARD_CANVAS_HEIGHT/(double)game.getBoard().getRows();
 		return height;
 	}
 
 	/**
 	 * Repaints the board and dashboard.
 	 */
+	@Override
 	public void repaintAll(){
 		boardCanvas.repaint();
 		dashboardCanvas.repaint();
 	}
 
+	/**
+	 * Repaints only what changes when a player moves: their token's old
+	 * and new squares, and the number of moves left.
+	 * @param player The player who moved
+	 */
+	public void repaintMove(Player player){
+		boardCanvas.repaintPlayer(player);
+		dashboardCanvas.repaintRoll();
+	}
+
 	@Override
 	public void mouseDragged(MouseEvent e) {}
 	
@@ -678,13 +729,13 @@ public class CluedoFrame extends JFrame implements KeyListener, MouseMotionListe
 		double ySize = y/125;
 		// if smaller than min size, make window min size
 		if(xSize < 1 || ySize < 1){
-			pixelSize = 1;
+			setPixelSize(1);
 			return;
 		}
 		// choose the smallest of the x unit and y unit
 		double minSize = Math.min(xSize, ySize);
 		int newPixelSize = (int)minSize;
-		pixelSize = newPixelSize;
+		setPixelSize(newPixelSize);
 		// update size fields
 		BOARD_CANVAS_WIDTH = 120*pixelSize;
 		BOARD_CANVAS_HEIGHT = 125*pixelSize;
@@ -696,6 +747,7 @@ public class CluedoFrame extends JFrame implements KeyListener, MouseMotionListe
 		int newFrameHeight = (int) (BOARD_CANVAS_HEIGHT + BUTTON_HEIGHT + insets.top + insets.bottom);
 		setSize(new Dimension(newFrameWidth, newFrameHeight));
 		initialiseFrame();
+		repaintAll();
 	}
 
 	@Override
@@ -705,6 +757,7 @@ public class CluedoFrame extends JFrame implements KeyListener, MouseMotionListe
 	 * Gets the pixel drawing size.
 	 * @return The current pixel size
 	 */
+	@Override
 	public int getPixelSize(){
 		return pixelSize;
 	}
@@ -714,13 +767,26 @@ public class CluedoFrame extends JFrame implements KeyListener, MouseMotionListe
 	 * @param size The new pixel size
 	 */
 	public void setPixelSize(int size){
+		if(size != pixelSize){
+			scaledImages.clear(); // nothing will be drawn at the old size again
+		}
 		pixelSize = size;
 	}
 	
+	/**
+	 * Gets the cache of art resized for the current pixel size.
+	 * @return The frame's scaled image cache
+	 */
+	@Override
+	public ScaledImageCache getScaledImages(){
+		return scaledImages;
+	}
+	
 	/**
 	 * Do you accept the one true Dave?
 	 * @return DAVE
 	 */
+	@Override
 	public boolean isDave(){
 		return daveMode;
 	}
@@ -731,6 +797,7 @@ public class CluedoFrame extends JFrame implements KeyListener, MouseMotionListe
 	 * @return If Dave accepts the offering, a Davified version will
 	 * be given unto you.
 	 */
+	@Override
 	public String makeDave(String input) {
 		if(!daveMode){
 			return input;
@@ -801,11 +868,13 @@ public class CluedoFrame extends JFrame implements KeyListener, MouseMotionListe
 
 	/**
      * Main method for CluedoFrame
+     * @param args Optionally, the board file to play on
      */
-    public static void main(String args[]) {
+    public static void main(final String args[]) {
+    	ImageAssets.preload(DAVE_IMAGES); // read the images while the window is built
     	EventQueue.invokeLater(new Runnable() {
             public void run() {
-                new CluedoFrame();
+                new CluedoFrame(args.length > 0 ? new Board(new File(args[0])) : Board.standard());
             }
         });
     }
@@ -9,7 +9,6 @@ import java.awt.event.MouseMotionListener;
 import java.io.File;
 import java.io.IOException;
 
-import javax.imageio.ImageIO;
 import javax.swing.JPanel;
 
 import cluedogame.GameOfCluedo;
@@ -26,20 +25,20 @@ public class DashboardCanvas extends JPanel implements MouseListener, MouseMotio
 	
 	private Image DashBoardImage; // background image for dashboard
 	private Image DaveBoardImage; // all cards belong to dave
-	private Image resizedImage; // image resized to fit window
 	private Image daveNameImage; // deep down, we all want to be dave
+	private boolean daveImagesTried; // true once the dave images have been read, or failed to be
 	private Image cardsSeenBtn; // the cards seen button highlight
 	private Image numbers[]; // number countdown images
-	private CluedoFrame frame;
+	private GameView frame;
 	private GameOfCluedo game;
 	
 	private boolean lightCardsSeenBtn = false; // true if the cards seen button is selected
 	
 	/**
 	 * Constructor for class DashboardCanvas.
-	 * @param frame The CluedoFrame containing this canvas
+	 * @param frame The view containing this canvas, usually a CluedoFrame
 	 */
-	public DashboardCanvas(CluedoFrame frame){
+	public DashboardCanvas(GameView frame){
 		addMouseListener(this);
 		addMouseMotionListener(this);
 		this.frame = frame;
@@ -55,13 +54,28 @@ public class DashboardCanvas extends JPanel implements MouseListener, MouseMotio
 		try {
 			numbers = new Image[14];
 			for (int i = 0; i<=13; i++){
-				numbers[i] = ImageIO.read(new File("Images"+File.separator+"Numbers"+File.separator+i+".png"));
+				numbers[i] = ImageAssets.get("Numbers"+File.separator+i+".png");
 			}
-			DashBoardImage = ImageIO.read(new File("Images"+File.separator+"DashBoard.png"));
-			DaveBoardImage = ImageIO.read(new File("Images"+File.separator+"DaveDashBoard.png"));
-			cardsSeenBtn = ImageIO.read(new File("Images"+File.separator+"lightBtn.png"));
-			daveNameImage = ImageIO.read(new File("Images"+File.separator+"DaveName.png"));
-			
+			DashBoardImage = ImageAssets.get("DashBoard.png");
+			cardsSeenBtn = ImageAssets.get("lightBtn.png");
+		} catch (IOException e) {
+			System.out.println("Could not read image file: "+e.getMessage());
+		}
+	}
+
+	/**
+	 * Loads the images only used in Dave mode, the first time Dave
+	 * mode is drawn. Images that cannot be read are only
+	 * tried and reported once.
+	 */
+	private void loadDaveImages() {
+		if(daveImagesTried){
+			return; // already loaded, or already reported as missing
+		}
+		daveImagesTried = true;
+		try {
+			daveNameImage = ImageAssets.get("DaveName.png");
+			DaveBoardImage = ImageAssets.get("DaveDashBoard.png");
 		} catch (IOException e) {
 			System.out.println("Could not read image file: "+e.getMessage());
 		}
@@ -74,15 +88,13 @@ public class DashboardCanvas extends JPanel implements MouseListener, MouseMotio
 	@Override
 	public void paint(Graphics g){
 		int pixel = frame.getPixelSize();
-		// draw background
 		if(frame.isDave()){
-			resizedImage = DaveBoardImage.getScaledInstance(frame.DASH_CANVAS_WIDTH,
-					frame.DASH_CANVAS_HEIGHT, Image.SCALE_FAST);
-		} else {
-			resizedImage = DashBoardImage.getScaledInstance(frame.DASH_CANVAS_WIDTH,
-					frame.DASH_CANVAS_HEIGHT, Image.SCALE_FAST);
+			loadDaveImages();
 		}
-		g.drawImage(resizedImage, 0, 0, null);
+		// draw background
+		Image background = frame.isDave() ? DaveBoardImage : DashBoardImage;
+		g.drawImage(frame.getScaledImages().get(background,
+				frame.getDashCanvasWidth(), frame.getDashCanvasHeight()), 0, 0, null);
 		if (!game.isReady()){
 			return;
 		}
@@ -100,8 +112,8 @@ public class DashboardCanvas extends JPanel implements MouseListener, MouseMotio
 		
 		// highlight cards seen button
 		if (lightCardsSeenBtn){
-			g.drawImage(cardsSeenBtn.getScaledInstance
-					(pixel*14, pixel*7, Image.SCALE_FAST), pixel*13, pixel*106, null);
+			g.drawImage(frame.getScaledImages().get(cardsSeenBtn, pixel*14, pixel*7),
+					pixel*13, pixel*106, null);
 		}
 	}
 
@@ -114,11 +126,10 @@ public class DashboardCanvas extends JPanel implements MouseListener, MouseMotio
 	private void drawPlayerName(Graphics g, int pixel, Player player) {
 		g.setColor(Color.WHITE);
 		if(frame.isDave()){
-			Image daveNameResize = daveNameImage.getScaledInstance
-					(40*pixel, 15*pixel, Image.SCALE_FAST);
+			Image daveNameResize = frame.getScaledImages().get(daveNameImage, 40*pixel, 15*pixel);
 			g.drawImage(daveNameResize, 0, 0, null);
 		} else {
-			g.drawImage(player.getNameImage(pixel), 0, 0, null);
+			g.drawImage(frame.getScaledImages().get(player.getNameImage(), 40*pixel, 15*pixel), 0, 0, null);
 		}
 	}
 
@@ -129,13 +140,9 @@ public class DashboardCanvas extends JPanel implements MouseListener, MouseMotio
 	 */
 	private void drawRemainingMoves(Graphics g, int pixel) {
 		int roll = game.getRoll();
-		if (roll > 12){
-			g.drawImage(numbers[13].getScaledInstance
-					(9*pixel, 6*pixel, Image.SCALE_FAST), 3*pixel, frame.BOARD_CANVAS_HEIGHT-9*pixel, null);
-		} else {
-			g.drawImage(numbers[roll].getScaledInstance
-					(9*pixel, 6*pixel, Image.SCALE_FAST), 3*pixel, frame.BOARD_CANVAS_HEIGHT-9*pixel, null);
-		}
+		Image number = roll > 12 ? numbers[13] : numbers[roll];
+		g.drawImage(frame.getScaledImages().get(number, 9*pixel, 6*pixel),
+				3*pixel, frame.getBoardCanvasHeight()-9*pixel, null);
 	}
 
 	/**
@@ -153,7 +160,7 @@ public class DashboardCanvas extends JPanel implements MouseListener, MouseMotio
 		int row = 0;
 		// scale and draw each card
 		for (Card c : player.getHand()){
-			card = c.getImage().getScaledInstance(12*pixel,16*pixel, Image.SCALE_FAST);
+			card = frame.getScaledImages().get(c.getImage(), 12*pixel, 16*pixel);
 			g.drawImage(card, x+(column*14*pixel), y+(row*18*pixel), null);
 			column++;
 			if (column > 1){column = 0; row++;}
@@ -181,6 +188,7 @@ public class DashboardCanvas extends JPanel implements MouseListener, MouseMotio
 		if (x>pixel*13 && x<pixel*27){
 			if (y>pixel*106 && y<pixel*113){
 				game.toggleCardsSeen();
+				frame.repaintAll();
 			}
 		}
 	}
@@ -194,6 +202,7 @@ public class DashboardCanvas extends JPanel implements MouseListener, MouseMotio
 		int pixel = frame.getPixelSize();
 		int x = e.getX();
 		int y = e.getY();
+		boolean wasLit = lightCardsSeenBtn;
 		if (x>pixel*13 && x<pixel*27){
 			if (y>pixel*106 && y<pixel*113){
 				lightCardsSeenBtn = true;
@@ -203,5 +212,16 @@ public class DashboardCanvas extends JPanel implements MouseListener, MouseMotio
 		} else {
 			lightCardsSeenBtn = false;
 		}
+		if(lightCardsSeenBtn != wasLit){
+			repaint(pixel*13, pixel*106, pixel*14, pixel*7);
+		}
+	}
+
+	/**
+	 * Repaints the number of moves the player has left.
+	 */
+	public void repaintRoll(){
+		int pixel = frame.getPixelSize();
+		repaint(3*pixel, frame.getBoardCanvasHeight()-9*pixel, 9*pixel, 6*pixel);
 	}
 }
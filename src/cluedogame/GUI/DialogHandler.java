@@ -212,7 +212,6 @@ public class DialogHandler {
 	 */
 	public String[] showSuggestionDialog(String room){
 		frame.enableSuggestBtn(false);
-		game.endTurn();
 		String characterSuggestion = showCharacterSuggestions(room);
 		String weaponSuggestion = showWeaponSuggestions(room);
 		return new String[]{frame.unDave(characterSuggestion), frame.unDave(weaponSuggestion)};
@@ -281,6 +280,19 @@ public class DialogHandler {
 	    return null;
 	}
 
+	/**
+	 * Checks that the player really wants to make an accusation.
+	 * @return True iff the player chose to go ahead
+	 */
+	public boolean confirmAccusation() {
+		int r = JOptionPane.showConfirmDialog(frame, new JLabel("<html>Making an accusation is a serious "
+				+ "business. If you get it wrong, you are out of the game! <br />Are you sure you want "
+				+ "to make an accusation?</html>"),
+				"Make accusation?", JOptionPane.YES_NO_OPTION,
+				JOptionPane.WARNING_MESSAGE);
+		return r != 1; // 1 if the player selected no
+	}
+
 	/**
 	 * Allows the player to select a character, weapon and room for an accusation.
 	 * @param room The room the player is in.
@@ -0,0 +1,131 @@
+package cluedogame.GUI;
+
+import java.util.List;
+
+import cluedogame.GameOfCluedo;
+import cluedogame.Player;
+
+/**
+ * The window a BoardCanvas and DashboardCanvas are drawn in: what
+ * size to draw at, which game to show, and the buttons and dialogs
+ * the canvases control. CluedoFrame is the usual view, but a canvas
+ * can also be drawn without a window, e.g. into an offscreen image.
+ * @author Sarah Dobie, Chris Read
+ *
+ */
+public interface GameView {
+
+	/**
+	 * Returns the game being shown.
+	 * @return The game being shown
+	 */
+	public GameOfCluedo getGame();
+
+	/**
+	 * Gets all players in the game.
+	 * @return A List of all players involved in the game
+	 */
+	public List<Player> getPlayers();
+
+	/**
+	 * Gets the pixel drawing size.
+	 * @return The current pixel size
+	 */
+	public int getPixelSize();
+
+	/**
+	 * Gets the cache of art resized for the current pixel size.
+	 * @return The view's scaled image cache
+	 */
+	public ScaledImageCache getScaledImages();
+
+	/**
+	 * Gets the width of the board canvas.
+	 * @return The width of the board canvas, in screen pixels
+	 */
+	public int getBoardCanvasWidth();
+
+	/**
+	 * Gets the height of the board canvas.
+	 * @return The height of the board canvas, in screen pixels
+	 */
+	public int getBoardCanvasHeight();
+
+	/**
+	 * Gets the width of the dashboard canvas.
+	 * @return The width of the dashboard canvas, in screen pixels
+	 */
+	public int getDashCanvasWidth();
+
+	/**
+	 * Gets the height of the dashboard canvas.
+	 * @return The height of the dashboard canvas, in screen pixels
+	 */
+	public int getDashCanvasHeight();
+
+	/**
+	 * Converts a column position to an absolute x position.
+	 * @param c The column position to convert
+	 * @return The absolute x position of the left of the column.
+	 */
+	public int convertColToX(int c);
+
+	/**
+	 * Converts an x position to a column position.
+	 * @param x The x position to convert
+	 * @return The column containing the x position
+	 */
+	public int convertXToCol(int x);
+
+	/**
+	 * Converts a row position to an absolute y position.
+	 * @param r The row position to convert
+	 * @return The absolute y position of the top of the row.
+	 */
+	public int convertRowToY(int r);
+
+	/**
+	 * Converts an y position to a row position.
+	 * @param y The y position to convert
+	 * @return The row containing the y position
+	 */
+	public int convertYToRow(int y);
+
+	/**
+	 * Do you accept the one true Dave?
+	 * @return DAVE
+	 */
+	public boolean isDave();
+
+	/**
+	 * Gets the name to show for a card, character or room.
+	 * @param input The name to show
+	 * @return The name as it should be shown
+	 */
+	public String makeDave(String input);
+
+	/**
+	 * Shows a basic dialog window with an OK button.
+	 * @param message The text to be displayed in the dialog
+	 * @param title The title of the dialog box
+	 */
+	public void showDialog(String message, String title);
+
+	/**
+	 * Enable or disable the Take Shortcut button.
+	 * @param canTakeShortcut True to enable the button, false to disable.
+	 */
+	public void enableShortcutBtn(boolean canTakeShortcut);
+
+	/**
+	 * Enable or disable the Suggest button.
+	 * @param canSuggest True to enable the button, false to disable.
+	 */
+	public void enableSuggestBtn(boolean canSuggest);
+
+	/**
+	 * Repaints the board and dashboard.
+	 */
+	public void repaintAll();
+
+}
@@ -0,0 +1,209 @@
+package cluedogame.GUI;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Reads every image in the Images folder at most once, and hands out the
+ * same image to everything that asks for it, including later games. The
+ * images can be read in the background on every core with preload() and
+ * prefetch(), so that they are ready before the windows need them.
+ * Images handed out are shared, so must not be drawn on.
+ * @author Sarah Dobie, Chris Read
+ *
+ */
+public class ImageAssets {
+
+	public static final String FOLDER = "Images"; // the folder all images are read from
+
+	// the image read from each file, keyed by lower case path within the folder
+	private static final ConcurrentMap<String, FutureTask<BufferedImage>> images =
+			new ConcurrentHashMap<String, FutureTask<BufferedImage>>();
+	private static final Set<String> failures =
+			Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>()); // files that could not be read
+	private static ExecutorService loader; // threads reading images in the background
+
+	/**
+	 * Gets the image in the given file, reading it if nobody has yet.
+	 * If the image is being read in the background, waits for it.
+	 * @param path The path of the file within the Images folder
+	 * @return The image in the file
+	 * @throws IOException If the image could not be read
+	 */
+	public static BufferedImage get(String path) throws IOException {
+		FutureTask<BufferedImage> image = task(new File(FOLDER, path));
+		image.run(); // does nothing if it has already been started
+		try {
+			return image.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted reading "+path);
+		} catch (ExecutionException e) {
+			if(e.getCause() instanceof IOException){
+				throw (IOException)e.getCause();
+			}
+			throw new IOException("Could not read "+path, e.getCause());
+		}
+	}
+
+	/**
+	 * Gets the image files that could not be read so far, whether they
+	 * were asked for or read in the background.
+	 * @return The paths of the files that failed, sorted
+	 */
+	public static List<String> getFailures(){
+		List<String> failed = new ArrayList<String>(failures);
+		Collections.sort(failed);
+		return failed;
+	}
+
+	/**
+	 * Starts reading every image in the Images folder and its subfolders
+	 * in the background, using a thread for each core.
+	 * @param except The paths of images not to read, because they are
+	 * rarely needed
+	 */
+	public static void preload(String... except){
+		Set<String> skip = new HashSet<String>();
+		for(String path : except){
+			skip.add(new File(FOLDER, path).getPath().toLowerCase());
+		}
+		preload(new File(FOLDER), skip);
+	}
+
+	/**
+	 * Starts reading the given images in the background, so that they are
+	 * ready by the time they are asked for.
+	 * @param paths The paths of the files within the Images folder
+	 */
+	public static void prefetch(String... paths){
+		for(String path : paths){
+			loader().execute(task(new File(FOLDER, path)));
+		}
+	}
+
+	/**
+	 * Queues every image in a folder and its subfolders to be read.
+	 * @param folder The folder to search
+	 * @param skip The lower case paths of images not to read
+	 */
+	private static void preload(File folder, Set<String> skip){
+		File[] files = folder.listFiles();
+		if(files == null){
+			return; // no such folder
+		}
+		for(File file : files){
+			if(file.isDirectory()){
+				preload(file, skip);
+			} else if(file.getName().toLowerCase().endsWith(".png")
+					&& !skip.contains(file.getPath().toLowerCase())){
+				loader().execute(task(file));
+			}
+		}
+	}
+
+	/**
+	 * Gets the threads which read images in the background, starting
+	 * them if this is the first time.
+	 * @return The image reading threads
+	 */
+	private static synchronized ExecutorService loader(){
+		if(loader == null){
+			loader = Executors.newFixedThreadPool(
+					Runtime.getRuntime().availableProcessors(), new ThreadFactory(){
+				@Override
+				public Thread newThread(Runnable r) {
+					Thread t = new Thread(r, "Image loader");
+					t.setDaemon(true); // don't keep the game open
+					return t;
+				}
+			});
+		}
+		return loader;
+	}
+
+	/**
+	 * Gets the task which reads an image file, creating it if there is
+	 * none yet. File names are matched ignoring case, as they are on
+	 * Windows, so "board.png" finds Board.png.
+	 * @param file The image file
+	 * @return The task reading the file, which fails with an IOException
+	 * naming the file if it cannot be read
+	 */
+	private static FutureTask<BufferedImage> task(final File file){
+		String key = file.getPath().toLowerCase();
+		FutureTask<BufferedImage> image = images.get(key);
+		if(image == null){
+			FutureTask<BufferedImage> read = new FutureTask<BufferedImage>(new Callable<BufferedImage>(){
+				@Override
+				public BufferedImage call() throws IOException {
+					try{
+						File real = findIgnoringCase(file);
+						if(real == null){
+							throw new FileNotFoundException("No image file "+file);
+						}
+						BufferedImage img = ImageIO.read(real);
+						if(img == null){
+							throw new IOException("Not an image: "+file);
+						}
+						return img;
+					} catch(IOException e){
+						failures.add(file.getPath());
+						throw e;
+					}
+				}
+			});
+			image = images.putIfAbsent(key, read);
+			if(image == null){
+				image = read;
+			}
+		}
+		return image;
+	}
+
+	/**
+	 * Finds a file whose path matches the given one ignoring case, by
+	 * searching each folder along the path for a name that matches.
+	 * @param file The file to find
+	 * @return The file as it is named on disk, or null if there is none
+	 */
+	private static File findIgnoringCase(File file){
+		if(file.exists()){
+			return file;
+		}
+		File parent = file.getParentFile();
+		File folder = parent == null ? new File(".") : findIgnoringCase(parent);
+		if(folder == null){
+			return null;
+		}
+		File[] files = folder.listFiles();
+		if(files == null){
+			return null;
+		}
+		for(File f : files){
+			if(f.getName().equalsIgnoreCase(file.getName())){
+				return parent == null ? new File(f.getName()) : f;
+			}
+		}
+		return null;
+	}
+
+}
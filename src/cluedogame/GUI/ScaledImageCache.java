@@ -0,0 +1,103 @@
+package cluedogame.GUI;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps resized copies of images so that they are only scaled once
+ * for each size they are drawn at. The frame clears the cache whenever
+ * its pixel size changes, since none of the old sizes will be drawn again.
+ * @author Sarah Dobie, Chris Read
+ *
+ */
+public class ScaledImageCache {
+
+	private Map<ScaleKey, BufferedImage> images = new HashMap<ScaleKey, BufferedImage>();
+
+	/**
+	 * Gets a copy of an image scaled to the given size, scaling it
+	 * only if it has not been scaled to that size before.
+	 * @param source The image to scale
+	 * @param width The width of the scaled image
+	 * @param height The height of the scaled image
+	 * @return The scaled image
+	 */
+	public BufferedImage get(Image source, int width, int height){
+		ScaleKey key = new ScaleKey(source, width, height);
+		BufferedImage scaled = images.get(key);
+		if(scaled == null){
+			scaled = scale(source, width, height);
+			images.put(key, scaled);
+		}
+		return scaled;
+	}
+
+	/**
+	 * Forgets all scaled images.
+	 */
+	public void clear(){
+		images.clear();
+	}
+
+	/**
+	 * Scales an image into a new image suited to the screen being drawn on.
+	 * Scaling uses nearest neighbour sampling, like Image.SCALE_FAST.
+	 * @param source The image to scale
+	 * @param width The width of the scaled image
+	 * @param height The height of the scaled image
+	 * @return A new image containing the scaled source image
+	 */
+	public static BufferedImage scale(Image source, int width, int height){
+		width = Math.max(width, 1);
+		height = Math.max(height, 1);
+		BufferedImage scaled;
+		if(GraphicsEnvironment.isHeadless()){
+			scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		} else {
+			GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment()
+					.getDefaultScreenDevice().getDefaultConfiguration();
+			scaled = config.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+		}
+		Graphics2D g = scaled.createGraphics();
+		g.drawImage(source, 0, 0, width, height, null);
+		g.dispose();
+		return scaled;
+	}
+
+	/**
+	 * The key of a scaled image: the image it was scaled from and its size.
+	 * Source images are compared by identity.
+	 */
+	private static class ScaleKey {
+		private final Image source;
+		private final int width;
+		private final int height;
+
+		public ScaleKey(Image source, int width, int height){
+			this.source = source;
+			this.width = width;
+			this.height = height;
+		}
+
+		@Override
+		public boolean equals(Object o){
+			if(o instanceof ScaleKey){
+				ScaleKey k = (ScaleKey)o;
+				return source == k.source && width == k.width && height == k.height;
+			}
+			return false;
+		}
+
+		@Override
+		public int hashCode(){
+			return (System.identityHashCode(source)*31 + width)*31 + height;
+		}
+	}
+
+}
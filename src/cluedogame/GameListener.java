@@ -0,0 +1,48 @@
+package cluedogame;
+
+/**
+ * Receives news of what happens in a GameOfCluedo. The game only
+ * applies the rules; anything shown to the players, such as the
+ * dialogs of the GUI, is done by a listener.
+ * @author Sarah Dobie, Chris Read
+ *
+ */
+public interface GameListener {
+
+	/**
+	 * Called when a player's turn starts and they have rolled the dice.
+	 * @param player The player whose turn it is
+	 * @param roll The number of moves they rolled
+	 */
+	public void turnStarted(Player player, int roll);
+
+	/**
+	 * Called when a player has moved, either by walking, by taking a
+	 * shortcut, or by being called into a room by a suggestion.
+	 * @param player The player that moved
+	 */
+	public void playerMoved(Player player);
+
+	/**
+	 * Called when a suggestion has been made and checked against the
+	 * other players' hands.
+	 * @param suggestion The suggestion and its result
+	 */
+	public void suggestionMade(Suggestion suggestion);
+
+	/**
+	 * Called when a player has made an accusation.
+	 * @param player The player who made the accusation
+	 * @param accusation The character, weapon and room accused, in that order
+	 * @param correct True iff the accusation matched the murder cards
+	 */
+	public void accusationMade(Player player, String[] accusation, boolean correct);
+
+	/**
+	 * Called when the game is over, either because a player made a
+	 * correct accusation or because every player is out of the game.
+	 * @param winner The player who won, or null if nobody did
+	 */
+	public void gameOver(Player winner);
+
+}
@@ -1,18 +1,22 @@
 package cluedogame;
 
-import java.io.File;
+import java.awt.Image;
 import java.io.IOException;
 import java.util.*;
 
-import javax.imageio.ImageIO;
-
 import cluedogame.GUI.CluedoFrame;
+import cluedogame.GUI.ImageAssets;
 import cluedogame.cards.*;
+import cluedogame.sqaures.RoomSquare;
+import cluedogame.sqaures.ShortcutSquare;
+import cluedogame.sqaures.Square;
 
 /**
  * Represents a game of Cluedo. Stores names of all players,
  * weapons and rooms, as well as the cards in the game, and
- * the murder cards. Organises the distribution of cards.
+ * the murder cards. Organises the distribution of cards, and
+ * applies the rules of each turn. The game can be played without
+ * a display, with GameListeners told about everything that happens.
  * @author Sarah Dobie, Chris Read
  *
  */
@@ -45,33 +49,91 @@ public class GameOfCluedo {
 	public static final String LOUNGE = "Lounge";
 	public static final String DINING_ROOM = "Dining Room";
 	
+	// Every character, weapon and room
+	public static final String[] CHARACTERS = {SCARLETT, MUSTARD, WHITE, GREEN, PEACOCK, PLUM};
+	public static final String[] WEAPONS = {CANDLESTICK, DAGGER, LEAD_PIPE, REVOLVER, ROPE, SPANNER};
+	public static final String[] ROOMS = {KITCHEN, BALL_ROOM, CONSERVATORY, BILLIARD_ROOM, LIBRARY,
+		STUDY, HALL, LOUNGE, DINING_ROOM};
+	
 	private List<Card> characterCards;
 	private List<Card> roomCards;
 	private List<Card> weaponCards;
+	private Card[] cardsById = new Card[CardBits.COUNT]; // every card, indexed by identifier
 	private Card[] murderCards = new Card[3]; // the cards which are the solution to the murder
 	private List<Player> players = new ArrayList<Player>(); // all the players in the game
+	private Player[] occupants; // the player on each square
+	private LinkedList<Player> playersInGame = new LinkedList<Player>(); // turn order of players still in game
 	private Player currentPlayer; // the player whose turn it is
 	private Board board;
+	private PathService paths; // routes for the moving player, kept until someone moves
+	private Random random; // used for all shuffling and dice rolls
+	private boolean loadImages; // false if the cards are never drawn
 	private int roll; // the number of moves remaining for the current player
 	private GameController control;
+	private List<GameListener> listeners = new ArrayList<GameListener>();
 	private boolean isReady = false; // whether or not the game has finished setting up
+	private boolean isOver = false; // whether or not the game has finished
+	private Player winner; // the player who made a correct accusation
 	private boolean infiniteMovement; // true if player is allowed infinite moves
 	
 	private boolean cardsSeen = false; // whether the cardsseen window is being displayed
 
 	
 	/**
-	 * Constructor for class GameOfCluedo
-	 * @param frame The CluedoFrame displaying this game.
+	 * Constructor for class GameOfCluedo. The game runs without
+	 * a display; add a GameListener to follow what happens.
+	 */
+	public GameOfCluedo(){
+		this(Board.standard(), new Random(), true);
+	}
+	
+	/**
+	 * Constructor for class GameOfCluedo, for games that are never
+	 * displayed, such as simulations. The board may be shared with other
+	 * games, and the cards have no images.
+	 * @param board The board to play on
+	 * @param random The source of all shuffling and dice rolls
+	 */
+	public GameOfCluedo(Board board, Random random){
+		this(board, random, false);
+	}
+	
+	/**
+	 * Constructor for class GameOfCluedo.
+	 * @param board The board to play on
+	 * @param random The source of all shuffling and dice rolls
+	 * @param loadImages True to load the image of each card
 	 */
-	public GameOfCluedo(CluedoFrame frame){
-		this.board = new Board();
+	private GameOfCluedo(Board board, Random random, boolean loadImages){
+		this.board = board;
+		this.occupants = new Player[board.getRows()*board.getCols()];
+		this.paths = new PathService(board, this);
+		this.random = random;
+		this.loadImages = loadImages;
 		setupCards();
 		setMurderCards();
-		control = new GameController(this, frame);
 		isReady = false;
 	}
 	
+	/**
+	 * Constructor for class GameOfCluedo
+	 * @param frame The CluedoFrame displaying this game.
+	 * @param board The board to play on
+	 */
+	public GameOfCluedo(CluedoFrame frame, Board board){
+		this(board, new Random(), true);
+		control = new GameController(this, frame);
+		addListener(control);
+	}
+	
+	/**
+	 * Adds a listener to be told about everything that happens in the game.
+	 * @param listener The listener to add
+	 */
+	public void addListener(GameListener listener){
+		listeners.add(listener);
+	}
+	
 	/**
 	 * Generates a list of all cards in the game, and
 	 * shuffles the order.
@@ -82,57 +144,76 @@ public class GameOfCluedo {
 		// add character cards
 		List<Card> cCards = new ArrayList<Card>();
 		try {	
-		cCards.add(new CharacterCard(SCARLETT, ImageIO.read(new File("Images"+File.separator+"ScarlettCard.png")), 0));
-		cCards.add(new CharacterCard(MUSTARD, ImageIO.read(new File("Images"+File.separator+"MustardCard.png")), 1));
-		cCards.add(new CharacterCard(WHITE, ImageIO.read(new File("Images"+File.separator+"WhiteCard.png")), 5));
-		cCards.add(new CharacterCard(GREEN, ImageIO.read(new File("Images"+File.separator+"GreenCard.png")), 2));
-		cCards.add(new CharacterCard(PEACOCK, ImageIO.read(new File("Images"+File.separator+"PeacockCard.png")), 4));
-		cCards.add(new CharacterCard(PLUM, ImageIO.read(new File("Images"+File.separator+"PlumCard.png")), 3));
-		Collections.shuffle(cCards);
+		cCards.add(new CharacterCard(SCARLETT, cardImage("ScarlettCard.png"), CardBits.id(SCARLETT)));
+		cCards.add(new CharacterCard(MUSTARD, cardImage("MustardCard.png"), CardBits.id(MUSTARD)));
+		cCards.add(new CharacterCard(WHITE, cardImage("WhiteCard.png"), CardBits.id(WHITE)));
+		cCards.add(new CharacterCard(GREEN, cardImage("GreenCard.png"), CardBits.id(GREEN)));
+		cCards.add(new CharacterCard(PEACOCK, cardImage("PeacockCard.png"), CardBits.id(PEACOCK)));
+		cCards.add(new CharacterCard(PLUM, cardImage("PlumCard.png"), CardBits.id(PLUM)));
+		Collections.shuffle(cCards, random);
 		this.characterCards = cCards;
 		
 		// add room cards
 		List<Card> rCards = new ArrayList<Card>();
-		rCards.add(new RoomCard("Conservatory", ImageIO.read(new File("Images"+File.separator+"ConservatoryCard.png")), 23));
-		rCards.add(new RoomCard("Billiard Room", ImageIO.read(new File("Images"+File.separator+"BilliardsCard.png")), 24));
-		rCards.add(new RoomCard("Library", ImageIO.read(new File("Images"+File.separator+"LibraryCard.png")), 25));
-		rCards.add(new RoomCard("Study", ImageIO.read(new File("Images"+File.separator+"StudyCard.png")), 26));
-		rCards.add(new RoomCard("Hall", ImageIO.read(new File("Images"+File.separator+"HallCard.png")), 27));
-		rCards.add(new RoomCard("Lounge", ImageIO.read(new File("Images"+File.separator+"LoungeCard.png")), 28));
-		rCards.add(new RoomCard("Dining Room", ImageIO.read(new File("Images"+File.separator+"DiningCard.png")), 20));
-		rCards.add(new RoomCard("Kitchen", ImageIO.read(new File("Images"+File.separator+"KitchenCard.png")), 21));
-		rCards.add(new RoomCard("Ball Room", ImageIO.read(new File("Images"+File.separator+"BallroomCard.png")), 22));
-		Collections.shuffle(rCards);
+		rCards.add(new RoomCard(CONSERVATORY, cardImage("ConservatoryCard.png"), CardBits.id(CONSERVATORY)));
+		rCards.add(new RoomCard(BILLIARD_ROOM, cardImage("BilliardsCard.png"), CardBits.id(BILLIARD_ROOM)));
+		rCards.add(new RoomCard(LIBRARY, cardImage("LibraryCard.png"), CardBits.id(LIBRARY)));
+		rCards.add(new RoomCard(STUDY, cardImage("StudyCard.png"), CardBits.id(STUDY)));
+		rCards.add(new RoomCard(HALL, cardImage("HallCard.png"), CardBits.id(HALL)));
+		rCards.add(new RoomCard(LOUNGE, cardImage("LoungeCard.png"), CardBits.id(LOUNGE)));
+		rCards.add(new RoomCard(DINING_ROOM, cardImage("DiningCard.png"), CardBits.id(DINING_ROOM)));
+		rCards.add(new RoomCard(KITCHEN, cardImage("KitchenCard.png"), CardBits.id(KITCHEN)));
+		rCards.add(new RoomCard(BALL_ROOM, cardImage("BallroomCard.png"), CardBits.id(BALL_ROOM)));
+		Collections.shuffle(rCards, random);
 		this.roomCards = rCards;
 		
 		// add weapon cards
 		List<Card> wCards = new ArrayList<Card>();
-		wCards.add(new WeaponCard("Candlestick", ImageIO.read(new File("Images"+File.separator+"CandlestickCard.png")), 12));
-		wCards.add(new WeaponCard("Dagger", ImageIO.read(new File("Images"+File.separator+"DaggerCard.png")), 10));
-		wCards.add(new WeaponCard("Lead Pipe", ImageIO.read(new File("Images"+File.separator+"PipeCard.png")), 13));
-		wCards.add(new WeaponCard("Revolver", ImageIO.read(new File("Images"+File.separator+"RevolverCard.png")), 11));
-		wCards.add(new WeaponCard("Rope", ImageIO.read(new File("Images"+File.separator+"RopeCard.png")), 15));
-		wCards.add(new WeaponCard("Spanner", ImageIO.read(new File("Images"+File.separator+"SpannerCard.png")), 14));
-		Collections.shuffle(wCards);
+		wCards.add(new WeaponCard(CANDLESTICK, cardImage("CandlestickCard.png"), CardBits.id(CANDLESTICK)));
+		wCards.add(new WeaponCard(DAGGER, cardImage("DaggerCard.png"), CardBits.id(DAGGER)));
+		wCards.add(new WeaponCard(LEAD_PIPE, cardImage("PipeCard.png"), CardBits.id(LEAD_PIPE)));
+		wCards.add(new WeaponCard(REVOLVER, cardImage("RevolverCard.png"), CardBits.id(REVOLVER)));
+		wCards.add(new WeaponCard(ROPE, cardImage("RopeCard.png"), CardBits.id(ROPE)));
+		wCards.add(new WeaponCard(SPANNER, cardImage("SpannerCard.png"), CardBits.id(SPANNER)));
+		Collections.shuffle(wCards, random);
 		this.weaponCards = wCards;
+		
+		for(List<Card> cards : Arrays.asList(cCards, rCards, wCards)){
+			for(Card c : cards){
+				cardsById[c.getID()] = c;
+			}
+		}
 		} catch (IOException e) {
 			e.printStackTrace();
 		}
 	}
 	
+	/**
+	 * Loads the image for a card, unless this game is never drawn.
+	 * @param fileName The name of the image file in the Images folder
+	 * @return The card image, or null if images are not being loaded
+	 * @throws IOException If the image could not be read
+	 */
+	private Image cardImage(String fileName) throws IOException {
+		if(!loadImages){
+			return null;
+		}
+		return ImageAssets.get(fileName);
+	}
+	
 	/**
 	 * Picks a random card from each card group (characters, rooms,
 	 * weapons) and adds it to the array of murder cards.
 	 */
 	private void setMurderCards(){
 		// choose a character card
-		int randomIndex = (int) (Math.random()*(characterCards.size()-1));
+		int randomIndex = (int) (random.nextDouble()*(characterCards.size()-1));
 		this.murderCards[0] = this.characterCards.remove(randomIndex);
 		// choose a room card
-		randomIndex = (int) (Math.random()*(weaponCards.size()-1));
+		randomIndex = (int) (random.nextDouble()*(weaponCards.size()-1));
 		this.murderCards[1] = this.weaponCards.remove(randomIndex);
 		// choose a weapon card
-		randomIndex = (int) (Math.random()*(roomCards.size()-1));
+		randomIndex = (int) (random.nextDouble()*(roomCards.size()-1));
 		this.murderCards[2] = this.roomCards.remove(randomIndex);
 	}
 	
@@ -162,6 +243,10 @@ public class GameOfCluedo {
 			p.addCard(roomCards.remove(0));
 			dealTo.add(p); // put player on end of queue
 		}
+		// everyone starts deducing from their own hand
+		for(Player p : players){
+			p.setDeduction(new Deduction(p, players));
+		}
 	}
 
 	/**
@@ -171,7 +256,7 @@ public class GameOfCluedo {
 		if(infiniteMovement){
 			roll = Integer.MAX_VALUE;
 		} else {
-			roll = new Random().nextInt(10) + 2;
+			roll = random.nextInt(10) + 2;
 		}
 	}
 	
@@ -205,6 +290,280 @@ public class GameOfCluedo {
 		roll = 0;
 	}
 
+	////////////////////////////////////////////////////////
+	//                   GAME RULES                       //
+	////////////////////////////////////////////////////////
+
+	/**
+	 * Starts the turn of the next player still in the game, and rolls
+	 * the dice for them.
+	 * @return The player whose turn it now is, or null if nobody is
+	 * left in the game.
+	 */
+	public Player nextTurn(){
+		if(playersInGame.isEmpty() || isOver){
+			return null;
+		}
+		// get the next player and put them on the end of the queue
+		Player player = playersInGame.poll();
+		playersInGame.add(player);
+		currentPlayer = player;
+		paths.invalidate(); // a new turn starts from a new square
+		rollDice();
+		for(GameListener l : listeners){
+			l.turnStarted(player, roll);
+		}
+		return player;
+	}
+
+	/**
+	 * Moves a player one square, using up a move unless the step
+	 * is inside a room.
+	 * @param player The player to move
+	 * @param sq The neighbouring square to move onto
+	 */
+	public void stepPlayer(Player player, Square sq){
+		Square fromSquare = board.squareAt(player.row(), player.col());
+		player.moveTo(sq);
+		useMoves(MovementRules.moveCost(fromSquare, sq));
+		for(GameListener l : listeners){
+			l.playerMoved(player);
+		}
+	}
+
+	/**
+	 * Moves a player along the shortest path to the given square, if
+	 * they have enough moves left to get there.
+	 * @param player The player to move
+	 * @param goal The square to move to
+	 * @return True iff the player could move to the square
+	 */
+	public boolean movePlayer(Player player, Square goal){
+		Square start = board.squareAt(player.row(), player.col());
+		List<Square> path = paths.shortestPath(start, goal, roll);
+		if(path == null){
+			return false;
+		}
+		for(Square sq : path){
+			stepPlayer(player, sq);
+		}
+		return true;
+	}
+
+	/**
+	 * Takes a player to the other side of the shortcut they are
+	 * standing on, using up a move.
+	 * @param player The player to move
+	 * @return True iff the player was on a shortcut and had a move left
+	 */
+	public boolean useShortcut(Player player){
+		Square sq = board.squareAt(player.row(), player.col());
+		if(!(sq instanceof ShortcutSquare) || roll <= 0){
+			return false;
+		}
+		ShortcutSquare shortcut = (ShortcutSquare)sq;
+		player.setPos(shortcut.toRow(), shortcut.toCol());
+		useMoves(1); // use up a move
+		for(GameListener l : listeners){
+			l.playerMoved(player);
+		}
+		return true;
+	}
+
+	/**
+	 * Determines which room a player is in.
+	 * @param player The player to find
+	 * @return The name of the room the player is in, or null if they
+	 * are not in a room.
+	 */
+	public String roomOf(Player player){
+		int room = roomIdOf(player);
+		return room < 0 ? null : CardBits.name(room);
+	}
+
+	/**
+	 * Determines which room a player is in.
+	 * @param player The player to find
+	 * @return The card id of the room the player is in, or -1 if they
+	 * are not in a room.
+	 */
+	public int roomIdOf(Player player){
+		Square sq = board.squareAt(player.row(), player.col());
+		if(sq instanceof RoomSquare){
+			return ((RoomSquare)sq).getRoomId();
+		} else if(sq instanceof ShortcutSquare){
+			return ((ShortcutSquare)sq).startRoomId();
+		}
+		return -1;
+	}
+
+	/**
+	 * Makes a suggestion on behalf of the current player, in the room
+	 * they are in. The suggested character is called into the room, the
+	 * other players' hands are checked for a matching card, and the
+	 * player's turn ends.
+	 * @param character The character suggested
+	 * @param weapon The weapon suggested
+	 * @return The suggestion and the card shown in response, if any.
+	 * @throws IllegalStateException If the current player is not in a room
+	 */
+	public Suggestion suggest(String character, String weapon){
+		return suggest(CardBits.id(character), CardBits.id(weapon));
+	}
+
+	/**
+	 * Makes a suggestion on behalf of the current player, in the room
+	 * they are in, naming the cards by their ids.
+	 * @param character The card id of the character suggested
+	 * @param weapon The card id of the weapon suggested
+	 * @return The suggestion and the card shown in response, if any.
+	 * @throws IllegalStateException If the current player is not in a room
+	 */
+	public Suggestion suggest(int character, int weapon){
+		Player player = currentPlayer;
+		int room = roomIdOf(player);
+		if(room < 0){
+			throw new IllegalStateException("not in a room");
+		}
+		endTurn();
+		// call the suggested character into the room
+		for(Player p : players){
+			if(p.getCharacterId() == character){
+				moveToRoom(p, room);
+				break;
+			}
+		}
+		Suggestion suggestion = refute(player, character, weapon, room);
+		if(suggestion.isRefuted()){
+			player.addCardSeen(suggestion.getCard());
+		}
+		for(Player p : players){
+			if(p.getDeduction() != null){
+				p.getDeduction().suggestionMade(suggestion);
+			}
+		}
+		for(GameListener l : listeners){
+			l.suggestionMade(suggestion);
+		}
+		return suggestion;
+	}
+
+	/**
+	 * Checks a suggestion against the other players' hands, finding the
+	 * first player holding a suggested card the suggester has not already
+	 * seen.
+	 * @param suggester The player making the suggestion
+	 * @param character The card id of the character suggested
+	 * @param weapon The card id of the weapon suggested
+	 * @param room The card id of the room suggested
+	 * @return The suggestion and the card shown in response, if any.
+	 */
+	public Suggestion refute(Player suggester, int character, int weapon, int room){
+		// only cards the suggester has not already seen can be shown
+		int wanted = CardBits.of(character, weapon, room) & ~suggester.getSeenBits();
+		for(Player otherPlayer : players){
+			if(otherPlayer != suggester){
+				int matches = otherPlayer.getHandBits() & wanted;
+				if(matches != 0){
+					Card c = cardsById[Integer.numberOfTrailingZeros(matches)];
+					return new Suggestion(suggester, character, weapon, room, otherPlayer, c);
+				}
+			}
+		}
+		return new Suggestion(suggester, character, weapon, room, null, null);
+	}
+
+	/**
+	 * Moves a player onto a free square in the given room.
+	 * @param player The player to move
+	 * @param room The card id of the room to move them to
+	 */
+	private void moveToRoom(Player player, int room){
+		for(RoomSquare roomSq : board.roomSquares(room)){
+			if(!hasPlayerAt(roomSq.row(), roomSq.col())){
+				player.moveTo(roomSq);
+			}
+		}
+		for(GameListener l : listeners){
+			l.playerMoved(player);
+		}
+	}
+
+	/**
+	 * Makes an accusation on behalf of a player. If they are correct they
+	 * win the game, otherwise they are out of the game.
+	 * @param player The player making the accusation
+	 * @param accusation String array containing the character, weapon and room in that order.
+	 * @return True if only if all three cards are correct
+	 */
+	public boolean accuse(Player player, String[] accusation){
+		return accuse(player, CardBits.id(accusation[0]), CardBits.id(accusation[1]),
+				CardBits.id(accusation[2]));
+	}
+
+	/**
+	 * Makes an accusation on behalf of a player, naming the cards by
+	 * their ids. If they are correct they win the game, otherwise they
+	 * are out of the game.
+	 * @param player The player making the accusation
+	 * @param character The card id of the character accused
+	 * @param weapon The card id of the weapon accused
+	 * @param room The card id of the room accused
+	 * @return True if only if all three cards are correct
+	 */
+	public boolean accuse(Player player, int character, int weapon, int room){
+		boolean correct = accuse(character, weapon, room);
+		if(!correct){
+			// remove player from game
+			playersInGame.remove(player);
+			player.setInGame(false);
+			endTurn();
+		}
+		if(!listeners.isEmpty()){
+			String[] accusation = {CardBits.name(character), CardBits.name(weapon), CardBits.name(room)};
+			for(GameListener l : listeners){
+				l.accusationMade(player, accusation, correct);
+			}
+		}
+		// check if the game is over
+		if(correct || playersInGame.isEmpty()){
+			isOver = true;
+			winner = correct ? player : null;
+			for(GameListener l : listeners){
+				l.gameOver(winner);
+			}
+		}
+		return correct;
+	}
+
+	/**
+	 * Checks if the game has finished.
+	 * @return True iff a player has won or every player is out
+	 */
+	public boolean isOver(){
+		return isOver;
+	}
+
+	/**
+	 * Gets the player who won the game.
+	 * @return The winning player, or null if nobody has won
+	 */
+	public Player getWinner(){
+		return winner;
+	}
+
+	/**
+	 * Gets the players still in the game, in the order of their turns.
+	 * @return The players who have not made a wrong accusation
+	 */
+	public List<Player> getPlayersInGame(){
+		return Collections.unmodifiableList(playersInGame);
+	}
+
+	////////////////////////////////////////////////////////
+	//                   GUI ACTIONS                      //
+	////////////////////////////////////////////////////////
+
 	/**
 	 * Start the next turn.
 	 */
@@ -233,12 +592,20 @@ public class GameOfCluedo {
 	 * @return True if only if all three cards are correct
 	 */
 	public boolean accuse(String[] accusation){
-		for (int i = 0; i < murderCards.length; i++){
-			if (!accusation[i].equals(murderCards[i].getName())){
-				return false;
-			}
-		}
-		return true;
+		return accuse(CardBits.id(accusation[0]), CardBits.id(accusation[1]), CardBits.id(accusation[2]));
+	}
+
+	/**
+	 * Checks an accusation against the murder cards, naming the cards by
+	 * their ids.
+	 * @param character The card id of the character accused
+	 * @param weapon The card id of the weapon accused
+	 * @param room The card id of the room accused
+	 * @return True if only if all three cards are correct
+	 */
+	public boolean accuse(int character, int weapon, int room){
+		return murderCards[0].getID() == character && murderCards[1].getID() == weapon
+				&& murderCards[2].getID() == room;
 	}
 	
 	/**
@@ -256,6 +623,15 @@ public class GameOfCluedo {
 		return murderCards;
 	}
 	
+	/**
+	 * Gets the source of randomness for this game, so that computer
+	 * players can make random choices that are repeatable along with it.
+	 * @return The game's random number generator
+	 */
+	public Random getRandom(){
+		return random;
+	}
+	
 	/**
 	 * Gets this game's board.
 	 * @return The board being used by the game.
@@ -264,12 +640,29 @@ public class GameOfCluedo {
 		return board;
 	}
 
+	/**
+	 * Gets the routes around the board for this game, which take the
+	 * players into account and are only searched for once per turn and
+	 * position.
+	 * @return The game's path service
+	 */
+	public PathService getPaths(){
+		return paths;
+	}
+
 	/**
 	 * Adds all players to game.
 	 * @param players The complete list of players in the game.
 	 */
 	public void setPlayers(List<Player> players){
 		this.players = players;
+		playersInGame = new LinkedList<Player>(players);
+		occupants = new Player[board.getRows()*board.getCols()];
+		for(Player p : players){
+			placeAtStart(p);
+			p.setGame(this);
+			occupy(p);
+		}
 	}
 
 	/**
@@ -286,7 +679,54 @@ public class GameOfCluedo {
 	 */
 	public void addPlayer(Player player){
 		this.players.add(player);
-		this.control.addPlayer(player);
+		placeAtStart(player);
+		player.setGame(this);
+		occupy(player);
+		playersInGame.add(player);
+	}
+	
+	/**
+	 * Moves a player joining the game to their character's start square.
+	 * @param player The player joining the game
+	 */
+	private void placeAtStart(Player player){
+		player.moveTo(board.startSquare(player.getCharacterId()));
+	}
+	
+	/**
+	 * Updates the record of who is standing where after a player moves.
+	 * Called by the player whenever its position changes.
+	 * @param player The player that moved
+	 * @param oldRow The row the player moved from
+	 * @param oldCol The column the player moved from
+	 */
+	void playerMoved(Player player, int oldRow, int oldCol){
+		int oldIndex = oldRow*board.getCols() + oldCol;
+		if(occupants[oldIndex] == player){
+			// players can share room squares, so look for one left behind
+			occupants[oldIndex] = null;
+			for(Player p : players){
+				if(p != player && p.row() == oldRow && p.col() == oldCol){
+					occupants[oldIndex] = p;
+					break;
+				}
+			}
+		}
+		occupy(player);
+	}
+	
+	/**
+	 * Records a player as standing on its current square, unless another
+	 * player is already recorded there. Any routes found before are out
+	 * of date, as the player may now be in the way.
+	 * @param player The player to record
+	 */
+	private void occupy(Player player){
+		int index = player.row()*board.getCols() + player.col();
+		if(occupants[index] == null){
+			occupants[index] = player;
+		}
+		paths.invalidate();
 	}
 	
 	/**
@@ -336,12 +776,7 @@ public class GameOfCluedo {
 	 * @return True if and only if there is a player at the given position.
 	 */
 	public boolean hasPlayerAt(int row, int col){
-		for(Player p : players){
-			if(p.row() == row && p.col() == col){
-				return true;
-			}
-		}
-		return false;
+		return getPlayerAt(row, col) != null;
 	}
 	
 	/**
@@ -352,12 +787,20 @@ public class GameOfCluedo {
 	 * is none.
 	 */
 	public Player getPlayerAt(int row, int col){
-		for(Player p : players){
-			if(p.row() == row && p.col() == col){
-				return p;
-			}
+		if(!board.validRow(row) || !board.validCol(col)){
+			return null;
 		}
-		return null;
+		return occupants[row*board.getCols() + col];
+	}
+	
+	/**
+	 * Checks whether a player still in the game is standing on a square.
+	 * @param index The index of the square, row*cols + col
+	 * @return True iff a player in the game is on the square
+	 */
+	boolean isOccupied(int index){
+		Player player = occupants[index];
+		return player != null && player.isInGame();
 	}
 	
 	/**
@@ -0,0 +1,109 @@
+package cluedogame;
+
+/**
+ * A binary min-heap of int values ordered by int priorities, used by the
+ * board's path searches. Entries are stored in parallel primitive arrays,
+ * so offering and polling never allocate once the heap has grown to size.
+ * Duplicate values are allowed; callers skip stale entries themselves.
+ * @author Sarah Dobie, Chris Read
+ *
+ */
+class IntMinHeap {
+
+	private int[] priorities;
+	private int[] values;
+	private int size;
+
+	/**
+	 * Constructor for class IntMinHeap.
+	 * @param capacity The initial number of entries the heap can hold
+	 */
+	public IntMinHeap(int capacity){
+		priorities = new int[Math.max(capacity, 1)];
+		values = new int[Math.max(capacity, 1)];
+	}
+
+	/**
+	 * Removes all entries from the heap, keeping its storage.
+	 */
+	public void clear(){
+		size = 0;
+	}
+
+	/**
+	 * Checks whether the heap has any entries.
+	 * @return True iff the heap is empty
+	 */
+	public boolean isEmpty(){
+		return size == 0;
+	}
+
+	/**
+	 * Adds a value to the heap.
+	 * @param value The value to add
+	 * @param priority The priority of the value; lower comes out first
+	 */
+	public void offer(int value, int priority){
+		if(size == values.length){
+			grow();
+		}
+		// sift the new entry up from the bottom
+		int i = size++;
+		while(i > 0){
+			int parent = (i - 1) >>> 1;
+			if(priorities[parent] <= priority){
+				break;
+			}
+			priorities[i] = priorities[parent];
+			values[i] = values[parent];
+			i = parent;
+		}
+		priorities[i] = priority;
+		values[i] = value;
+	}
+
+	/**
+	 * Removes and returns the value with the lowest priority.
+	 * @return The value with the lowest priority
+	 */
+	public int poll(){
+		int result = values[0];
+		size--;
+		if(size > 0){
+			// sift the last entry down from the top
+			int priority = priorities[size];
+			int value = values[size];
+			int i = 0;
+			int half = size >>> 1;
+			while(i < half){
+				int child = 2*i + 1;
+				int right = child + 1;
+				if(right < size && priorities[right] < priorities[child]){
+					child = right;
+				}
+				if(priority <= priorities[child]){
+					break;
+				}
+				priorities[i] = priorities[child];
+				values[i] = values[child];
+				i = child;
+			}
+			priorities[i] = priority;
+			values[i] = value;
+		}
+		return result;
+	}
+
+	/**
+	 * Doubles the storage of the heap.
+	 */
+	private void grow(){
+		int[] newPriorities = new int[values.length*2];
+		int[] newValues = new int[values.length*2];
+		System.arraycopy(priorities, 0, newPriorities, 0, size);
+		System.arraycopy(values, 0, newValues, 0, size);
+		priorities = newPriorities;
+		values = newValues;
+	}
+
+}
@@ -0,0 +1,140 @@
+package cluedogame;
+
+import cluedogame.sqaures.DoorSquare;
+import cluedogame.sqaures.DoorSquare.Dir;
+import cluedogame.sqaures.RoomSquare;
+import cluedogame.sqaures.ShortcutSquare;
+import cluedogame.sqaures.Square;
+
+/**
+ * The rules for stepping from a square onto a neighbouring square.
+ * Rooms can only be entered through a door in the door's direction and
+ * left through a door in the opposite direction, a shortcut can only be
+ * stepped onto from its room, and players block each other in the
+ * hallways but never inside a room. Squares off the edge of the board
+ * are checked against the board's bounds rather than looked up.
+ * @author Sarah Dobie, Chris Read
+ *
+ */
+public class MovementRules {
+
+	/**
+	 * Determines whether a player standing on a square can immediately
+	 * move one square in a direction.
+	 * @param board The board being played on
+	 * @param game The current game, or null to ignore other players
+	 * @param row The row the player is standing on
+	 * @param col The column the player is standing on
+	 * @param dir The direction to move in
+	 * @return True iff both squares are on the board and the step is allowed.
+	 */
+	public static boolean canMove(Board board, GameOfCluedo game, int row, int col, Dir dir){
+		int toRow = row + rowStep(dir);
+		int toCol = col + colStep(dir);
+		if(!board.validRow(row) || !board.validCol(col)
+				|| !board.validRow(toRow) || !board.validCol(toCol)){
+			return false;
+		}
+		return canMoveBetween(board.squareAt(row, col), board.squareAt(toRow, toCol), dir, game);
+	}
+
+	/**
+	 * Determines whether a player standing on one square can immediately
+	 * move to a neighbouring square.
+	 * @param from The square the player is standing on
+	 * @param to The square to move to
+	 * @param dir The direction the player is moving in
+	 * @param game The current game, or null to ignore other players
+	 * @return True iff the step is allowed and no player is in the way.
+	 */
+	public static boolean canMoveBetween(Square from, Square to, Dir dir, GameOfCluedo game){
+		if(!canStep(from, to, dir)){
+			return false;
+		}
+		if(game == null || !isBlockable(from, to)){
+			return true;
+		}
+		Player otherPlayer = game.getPlayerAt(to.row(), to.col());
+		return otherPlayer == null || !otherPlayer.isInGame();
+	}
+
+	/**
+	 * Determines whether the rules allow a step between neighbouring
+	 * squares, ignoring any players.
+	 * @param from The square being stepped off
+	 * @param to The square being stepped onto
+	 * @param dir The direction of the step
+	 * @return True iff the step is allowed on an empty board.
+	 */
+	public static boolean canStep(Square from, Square to, Dir dir){
+		// check if entering a room
+		if(to instanceof RoomSquare){
+			if(from instanceof DoorSquare){
+				DoorSquare door = (DoorSquare)from;
+				return door.getRoomId() == ((RoomSquare)to).getRoomId()
+						&& door.getEnterDir() == dir;
+			}
+			return from instanceof RoomSquare || from instanceof ShortcutSquare;
+		}
+		// check if leaving a room
+		if(from instanceof RoomSquare){
+			return to instanceof ShortcutSquare
+					|| (to instanceof DoorSquare && ((DoorSquare)to).getEnterDir() == dir.opposite());
+		}
+		return to.isSteppable() && !(to instanceof ShortcutSquare);
+	}
+
+	/**
+	 * Determines whether a player standing on a square can stop others
+	 * stepping onto it from a neighbouring square. Players never block
+	 * the way into or out of a room.
+	 * @param from The square being stepped off
+	 * @param to The square being stepped onto
+	 * @return True iff a player on the square stepped onto blocks the step.
+	 */
+	public static boolean isBlockable(Square from, Square to){
+		return !(from instanceof RoomSquare) && !(to instanceof RoomSquare);
+	}
+
+	/**
+	 * Determines how many moves it costs to step from one square onto
+	 * a neighbouring square. Moving around inside a room is free, but
+	 * entering a room through its door costs a move.
+	 * @param from The square being stepped off
+	 * @param to The square being stepped onto
+	 * @return The number of moves used by the step (0 or 1)
+	 */
+	public static int moveCost(Square from, Square to){
+		if(to instanceof RoomSquare && !(from instanceof DoorSquare)){
+			return 0;
+		}
+		return 1;
+	}
+
+	/**
+	 * Gets the change in row made by a step in a direction.
+	 * @param dir The direction of the step
+	 * @return -1, 0 or 1
+	 */
+	public static int rowStep(Dir dir){
+		switch(dir){
+		case NORTH : return -1;
+		case SOUTH : return 1;
+		default : return 0;
+		}
+	}
+
+	/**
+	 * Gets the change in column made by a step in a direction.
+	 * @param dir The direction of the step
+	 * @return -1, 0 or 1
+	 */
+	public static int colStep(Dir dir){
+		switch(dir){
+		case WEST : return -1;
+		case EAST : return 1;
+		default : return 0;
+		}
+	}
+
+}
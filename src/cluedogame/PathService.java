@@ -0,0 +1,83 @@
+package cluedogame;
+
+import java.util.List;
+
+import cluedogame.sqaures.Square;
+
+/**
+ * Answers path questions for a game from a tree of routes grown from the
+ * moving player's square as far as their roll, so that a single search
+ * serves every goal asked about until something changes. The game throws the tree away
+ * whenever a player moves or a new turn starts.
+ * @author Sarah Dobie, Chris Read
+ *
+ */
+public class PathService {
+
+	private Board board;
+	private GameOfCluedo game; // the game whose players are in the way
+	private PathTree tree; // routes from the last square asked about, or null
+
+	/**
+	 * Constructor for class PathService.
+	 * @param board The board the game is played on
+	 * @param game The game whose players block the way
+	 */
+	public PathService(Board board, GameOfCluedo game){
+		this.board = board;
+		this.game = game;
+	}
+
+	/**
+	 * Gets the tree of routes from a square, growing it if the current
+	 * tree starts somewhere else, is out of date, or does not reach far
+	 * enough.
+	 * @param start The square the routes start from
+	 * @param moves The number of moves the routes must reach
+	 * @return The tree of routes from the square
+	 */
+	public PathTree treeFrom(Square start, int moves){
+		if(tree == null || tree.getRoot() != start || tree.getMaxMoves() < moves){
+			tree = board.pathTree(start, moves, game);
+		}
+		return tree;
+	}
+
+	/**
+	 * Determines the shortest path between two squares, as
+	 * Board.shortestPath does.
+	 * @param start The first square in the path
+	 * @param goal The last square in the path
+	 * @param moves The number of moves this path must be taken in
+	 * @return A List of all the squares in the path, or null if it cannot be
+	 * taken within the given number of moves.
+	 */
+	public List<Square> shortestPath(Square start, Square goal, int moves){
+		PathTree routes = treeFrom(start, moves);
+		int needed = routes.moves(goal);
+		if(needed < 0 || needed > moves){
+			return null;
+		}
+		return routes.pathTo(goal);
+	}
+
+	/**
+	 * Finds every square that can be reached from a square within a
+	 * certain number of moves, as Board.reachableSquares does.
+	 * @param start The square to start from
+	 * @param roll The number of moves available
+	 * @return The squares that can be reached and the moves needed to
+	 * reach each one.
+	 */
+	public ReachableSquares reachableSquares(Square start, int roll){
+		return treeFrom(start, roll).reachable(roll);
+	}
+
+	/**
+	 * Forgets the current tree, because the players have moved.
+	 */
+	public void invalidate(){
+		tree = null;
+	}
+
+}
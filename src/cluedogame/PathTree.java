@@ -0,0 +1,116 @@
+package cluedogame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import cluedogame.sqaures.Square;
+
+/**
+ * The cheapest route from one square to every square that can be reached
+ * from it within a number of moves, found by a single search. Routes follow the same rules as
+ * Board.shortestPath: they use the fewest moves, then the fewest squares,
+ * and go around the players on the board when the tree was grown.
+ * @author Sarah Dobie, Chris Read
+ *
+ */
+public class PathTree {
+
+	private final Board board;
+	private final Square root; // the square every route starts from
+	private final int maxMoves; // the most moves any route was allowed
+	private final int[] moves; // moves needed to reach each square, or -1
+	private final int[] parent; // the square before each square on its route
+
+	/**
+	 * Constructor for class PathTree.
+	 * @param board The board the routes are on
+	 * @param root The square every route starts from
+	 * @param maxMoves The most moves any route was allowed
+	 * @param moves The moves needed to reach each square, indexed as in
+	 * ReachableSquares, or -1 if it cannot be reached
+	 * @param parent The index of the square before each square on its route
+	 */
+	PathTree(Board board, Square root, int maxMoves, int[] moves, int[] parent){
+		this.board = board;
+		this.root = root;
+		this.maxMoves = maxMoves;
+		this.moves = moves;
+		this.parent = parent;
+	}
+
+	/**
+	 * Gets the square every route starts from.
+	 * @return The root of the tree
+	 */
+	public Square getRoot(){
+		return root;
+	}
+
+	/**
+	 * Gets the most moves any route in the tree was allowed. Squares
+	 * further away than this are not in the tree.
+	 * @return The move limit of the tree
+	 */
+	public int getMaxMoves(){
+		return maxMoves;
+	}
+
+	/**
+	 * Gets the number of moves needed to reach a square.
+	 * @param goal The square to reach
+	 * @return The moves needed, or -1 if the square cannot be reached
+	 * within the tree's move limit
+	 */
+	public int moves(Square goal){
+		return moves[goal.row()*board.getCols() + goal.col()];
+	}
+
+	/**
+	 * Gets the route from the root to a square.
+	 * @param goal The last square in the route
+	 * @return A List of the squares in the route excluding the root, or
+	 * null if the square cannot be reached within the tree's move limit.
+	 */
+	public List<Square> pathTo(Square goal){
+		int goalIndex = goal.row()*board.getCols() + goal.col();
+		if(moves[goalIndex] < 0){
+			return null;
+		}
+		int rootIndex = root.row()*board.getCols() + root.col();
+		// count the squares in the path so the list can be filled in order
+		int length = 0;
+		for(int i = goalIndex; i != rootIndex; i = parent[i]){
+			length++;
+		}
+		Square[] path = new Square[length];
+		int i = goalIndex;
+		for(int p = length-1; p >= 0; p--){
+			path[p] = board.squareAt(i / board.getCols(), i % board.getCols());
+			i = parent[i];
+		}
+		return new ArrayList<Square>(Arrays.asList(path));
+	}
+
+	/**
+	 * Finds every square that can be reached within a number of moves.
+	 * @param roll The number of moves available, at most the tree's limit
+	 * @return The squares that can be reached and the moves needed to
+	 * reach each one.
+	 */
+	public ReachableSquares reachable(int roll){
+		int[] costs = new int[moves.length];
+		BitSet reachable = new BitSet(moves.length);
+		for(int i=0; i<moves.length; i++){
+			if(moves[i] >= 0 && moves[i] <= roll){
+				reachable.set(i);
+				costs[i] = moves[i];
+			} else {
+				costs[i] = -1;
+			}
+		}
+		return new ReachableSquares(board.getCols(), reachable, costs);
+	}
+
+}
@@ -3,20 +3,15 @@ package cluedogame;
 import java.awt.Graphics;
 import java.awt.Image;
 import java.awt.image.BufferedImage;
-import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
-import javax.imageio.ImageIO;
-
 import cluedogame.GUI.BoardCanvas;
-import cluedogame.GUI.CluedoFrame;
+import cluedogame.GUI.GameView;
+import cluedogame.GUI.ImageAssets;
 import cluedogame.cards.*;
-import cluedogame.sqaures.DoorSquare;
 import cluedogame.sqaures.DoorSquare.Dir;
-import cluedogame.sqaures.RoomSquare;
-import cluedogame.sqaures.ShortcutSquare;
 import cluedogame.sqaures.Square;
 
 /**
@@ -26,16 +21,24 @@ import cluedogame.sqaures.Square;
  */
 public class Player {
 	
+	public static final int NOT_PLACED = -1; // the row and column of a player not yet on a board
+	
 	private String character; // which character playing as
+	private int characterId; // the card id of the character
 	private String userName; // the name of the user
 	private Image tokenImg; // the image representing this player
 	private Image playerNameImg; // an image of the player's name
+	private boolean imagesLoaded; // true once the images have been read
 	private List<Card> hand; // cards in the player's hand
 	private List<Card> cardsSeen; // cards the player has seen
+	private int handBits; // the bits of the cards in the player's hand
+	private int seenBits; // the bits of the cards the player has seen
+	private Deduction deduction; // what the player has worked out about the other hands
 	
 	private int cPosition; // the player's current column pos
 	private int rPosition; // the player's current row pos
 	private boolean inGame;
+	private GameOfCluedo game; // the game keeping track of where this player is
 	
 	/**
 	 * Constructor for class Player.
@@ -44,35 +47,30 @@ public class Player {
 	 */
 	public Player(String character, String userName) {
 		this.character = character;
+		this.characterId = CardBits.id(character);
 		this.userName = userName;
-		chooseImage();
 		this.hand = new ArrayList<Card>();
 		this.cardsSeen = new ArrayList<Card>();
-		this.cPosition = startCol(this.character);
-		this.rPosition = startRow(this.character);
+		this.cPosition = NOT_PLACED; // the game moves the player to their board's start square
+		this.rPosition = NOT_PLACED;
 		this.inGame = true;
 	}
 	
 	/**
-	 * Mock constructor used in the A* search.
-	 * @param r Row at which to place the player
-	 * @param c Column at which to place the player
-	 */
-	public Player(int r, int c){
-		rPosition = r;
-		cPosition = c;
-	}
-	
-	/**
-	 * Loads the image of this player's token.
+	 * Loads the image of this player's token, the first time it is needed.
+	 * Players that are never drawn never load their images.
 	 * @return The image of the player's token.
 	 */
 	private void chooseImage() {
+		if(imagesLoaded){
+			return;
+		}
+		imagesLoaded = true;
 		try {
 			// load player name image
-			playerNameImg = ImageIO.read(new File("Images"+File.separator+character+"Name.png"));
+			playerNameImg = ImageAssets.get(character+"Name.png");
 			// load player token image
-			tokenImg = ImageIO.read(new File("Images"+File.separator+character+".png"));
+			tokenImg = ImageAssets.get(character+".png");
 		} catch (IOException e) {
 			System.out.println("Could not read image file: "+e.getMessage());
 		}
@@ -82,8 +80,9 @@ public class Player {
 	 * Returns the name image for drawing at the top of the Dashboard.
 	 * @return An image of the player's name
 	 */
-	public Image getNameImage(int pixel){
-		return playerNameImg.getScaledInstance(40*pixel, 15*pixel, Image.SCALE_FAST);
+	public Image getNameImage(){
+		chooseImage();
+		return playerNameImg;
 	}
 
 	/**
@@ -126,9 +125,46 @@ public class Player {
 		return cardsSeen;
 	}
 	
+	/**
+	 * Gets the cards in this player's hand as a set of card bits.
+	 * @return The bits of the cards in the player's hand
+	 * @see CardBits
+	 */
+	public int getHandBits(){
+		return handBits;
+	}
+	
+	/**
+	 * Gets the cards this player has seen as a set of card bits.
+	 * @return The bits of the cards the player has seen
+	 * @see CardBits
+	 */
+	public int getSeenBits(){
+		return seenBits;
+	}
+	
+	/**
+	 * Gets what this player has deduced about the other players' hands
+	 * and the murder cards.
+	 * @return The player's deductions, or null if the cards have not
+	 * been dealt yet.
+	 */
+	public Deduction getDeduction(){
+		return deduction;
+	}
+	
+	/**
+	 * Sets the deductions this player makes during the game.
+	 * @param deduction The player's deductions
+	 */
+	void setDeduction(Deduction deduction){
+		this.deduction = deduction;
+	}
+	
 	/**
 	 * Returns the row, or Y position of the player.
-	 * @return The current row of the player
+	 * @return The current row of the player, or NOT_PLACED if the player
+	 * has not joined a game yet
 	 */
 	public int row(){
 		return rPosition;
@@ -136,7 +172,8 @@ public class Player {
 	
 	/**
 	 * Returns the column, or X position of the player.
-	 * @return The current column of the player
+	 * @return The current column of the player, or NOT_PLACED if the
+	 * player has not joined a game yet
 	 */
 	public int col(){
 		return cPosition;
@@ -150,6 +187,14 @@ public class Player {
 		return character;
 	}
 	
+	/**
+	 * Gets the player's character.
+	 * @return The card id of the player's character
+	 */
+	public int getCharacterId(){
+		return characterId;
+	}
+	
 	/**
 	 * Gets the name of the user.
 	 * @return The name of the user
@@ -174,147 +219,48 @@ public class Player {
 		this.inGame = inGame;
 	}
 
-	/**
-	 * Determines the row in which the given character starts.
-	 * @param name The character for whom to find the start position.
-	 * @return the row in which the given character starts.
-	 */
-	private static int startRow(String name){
-		switch(name){
-		case GameOfCluedo.SCARLETT : return 24;
-		case GameOfCluedo.MUSTARD : return 17;
-		case GameOfCluedo.WHITE : return 0;
-		case GameOfCluedo.GREEN : return 0;
-		case GameOfCluedo.PEACOCK : return 6;
-		case GameOfCluedo.PLUM : return 19;
-		default : return -1;
-		}
-	}
-	
-	/**
-	 * Determines the column in which the given character starts.
-	 * @param name The character for whom to find the start position.
-	 * @return the column in which the given character starts.
-	 */
-	private static int startCol(String name){
-		switch(name){
-		case GameOfCluedo.SCARLETT : return 7;
-		case GameOfCluedo.MUSTARD : return 0;
-		case GameOfCluedo.WHITE : return 9;
-		case GameOfCluedo.GREEN : return 14;
-		case GameOfCluedo.PEACOCK : return 23;
-		case GameOfCluedo.PLUM : return 23;
-		default : return -1;
-		}
-	}
-	
-	/**
-	 * Determines whether the player can immediately move to the given square.
-	 * @param toSquare The square to move to
-	 * @param dir The direction the player is moving in
-	 * @param opp The opposite direction to the one the player is moving in
-	 * @param board The board of the current game
-	 * @param game The current game
-	 * @return Return true iff the player can immediately move to square in the given dir.
-	 */
-	private boolean canMoveTo(Square toSquare, Dir dir, Dir opp, Board board, GameOfCluedo game){
-		try{
-			Square currentSquare = board.squareAt(rPosition, cPosition);
-			// check if entering a room
-			if(toSquare instanceof RoomSquare){
-				if(currentSquare instanceof DoorSquare){
-					DoorSquare doorSq = ((DoorSquare)currentSquare);
-					return doorSq.getRoom().equals(((RoomSquare)toSquare).getRoom())
-							&& doorSq.getEnterDir() == dir;
-				} else if(currentSquare instanceof RoomSquare || currentSquare instanceof ShortcutSquare){
-					return true;
-				} else {
-					return false;
-				}
-			}
-			// check if leaving room
-			if(currentSquare instanceof RoomSquare){
-				return toSquare instanceof RoomSquare 
-						|| toSquare instanceof ShortcutSquare
-						|| (toSquare instanceof DoorSquare &&
-								((DoorSquare)toSquare).getEnterDir() == opp);
-			}
-			// check for other players in the way
-			Player otherPlayer = game.getPlayerAt(toSquare.row(), toSquare.col());
-			boolean playerInWay = otherPlayer != null && otherPlayer.isInGame();
-			return toSquare.isSteppable() && !(toSquare instanceof ShortcutSquare)
-					&& !playerInWay;
-		} catch(ArrayIndexOutOfBoundsException e){
-			return false;
-		}
-	}
-	
 	/**
 	 * Returns true if the player can move left.
 	 * @param board The board being played on
+	 * @param game The current game
 	 * @return True if the square to the left of the player can be
 	 * stepped on; false otherwise.
 	 */
 	public boolean canMoveLeft(Board board, GameOfCluedo game){
-		try{
-			int leftRow = rPosition;
-			int leftCol = cPosition-1;
-			Square leftSquare = board.squareAt(leftRow, leftCol);
-			return canMoveTo(leftSquare, Dir.WEST, Dir.EAST, board, game);
-		} catch(ArrayIndexOutOfBoundsException e){
-			return false;
-		}
+		return MovementRules.canMove(board, game, rPosition, cPosition, Dir.WEST);
 	}
 	
 	/**
-//	 * Returns true if the player can move right.
-//	 * @param board The board being played on
-//	 * @return True if the square to the right of the player can be
-//	 * stepped on; false otherwise.
-//	 */
+	 * Returns true if the player can move right.
+	 * @param board The board being played on
+	 * @param game The current game
+	 * @return True if the square to the right of the player can be
+	 * stepped on; false otherwise.
+	 */
 	public boolean canMoveRight(Board board, GameOfCluedo game){
-		try{
-			int rightRow = rPosition;
-			int rightCol = cPosition+1;
-			Square rightSquare = board.squareAt(rightRow, rightCol);
-			return canMoveTo(rightSquare, Dir.EAST, Dir.WEST, board, game);
-		} catch(ArrayIndexOutOfBoundsException e){
-			return false;
-		}
+		return MovementRules.canMove(board, game, rPosition, cPosition, Dir.EAST);
 	}
 	
 	/**
 	 * Returns true if the player can move up.
 	 * @param board The board being played on
-	 * @return True if the square to the up of the player can be
+	 * @param game The current game
+	 * @return True if the square above the player can be
 	 * stepped on; false otherwise.
 	 */
 	public boolean canMoveUp(Board board, GameOfCluedo game){
-		try{
-			int upRow = rPosition-1;
-			int upCol = cPosition;
-			Square upSquare = board.squareAt(upRow, upCol);
-			return canMoveTo(upSquare, Dir.NORTH, Dir.SOUTH, board, game);
-		} catch(ArrayIndexOutOfBoundsException e){
-			return false;
-		}
+		return MovementRules.canMove(board, game, rPosition, cPosition, Dir.NORTH);
 	}
 	
 	/**
 	 * Returns true if the player can move down.
 	 * @param board The board being played on
-	 * @return True if the square to the down of the player can be
+	 * @param game The current game
+	 * @return True if the square below the player can be
 	 * stepped on; false otherwise.
 	 */
 	public boolean canMoveDown(Board board, GameOfCluedo game){
-		try{
-			int downRow = rPosition+1;
-			int downCol = cPosition;
-			Square downSquare = board.squareAt(downRow, downCol);
-			return canMoveTo(downSquare, Dir.SOUTH, Dir.NORTH, board, game);
-		} catch(ArrayIndexOutOfBoundsException e){
-			return false;
-		}
+		return MovementRules.canMove(board, game, rPosition, cPosition, Dir.SOUTH);
 	}
 	
 	/**
@@ -324,10 +270,14 @@ public class Player {
 	 * @param col The player's new column
 	 */
 	public void setPos(int row, int col){
-		if(row >= 0 && row < Board.ROWS
-				&& col >= 0 && col < Board.COLS){
+		if(game == null || (game.getBoard().validRow(row) && game.getBoard().validCol(col))){
+			int oldRow = rPosition;
+			int oldCol = cPosition;
 			this.rPosition = row;
 			this.cPosition = col;
+			if(game != null){
+				game.playerMoved(this, oldRow, oldCol);
+			}
 		}
 	}
 	
@@ -336,8 +286,15 @@ public class Player {
 	 * @param sq The square to move the player to.
 	 */
 	public void moveTo(Square sq){
-		rPosition = sq.row();
-		cPosition = sq.col();
+		setPos(sq.row(), sq.col());
+	}
+	
+	/**
+	 * Tells the player which game is keeping track of its position.
+	 * @param game The game this player is in
+	 */
+	void setGame(GameOfCluedo game){
+		this.game = game;
 	}
 
 	/**
@@ -346,7 +303,8 @@ public class Player {
 	 */
 	public void addCard(Card c){
 		hand.add(c);
-		cardsSeen.add(c);
+		handBits |= CardBits.bit(c);
+		addCardSeen(c);
 	}
 	
 	/**
@@ -354,7 +312,10 @@ public class Player {
 	 * @param c Card to add
 	 */
 	public void addCardSeen(Card c){
-		cardsSeen.add(c);
+		if(!hasSeenCard(c)){
+			cardsSeen.add(c);
+			seenBits |= CardBits.bit(c);
+		}
 	}
 	
 	/**
@@ -363,18 +324,20 @@ public class Player {
 	 * @return True if the player has seen the card; false otherwise.
 	 */
 	public boolean hasSeenCard(Card c){
-		return cardsSeen.contains(c);
+		return (seenBits & CardBits.bit(c)) != 0;
 	}
 	
 	/**
 	 * Draws the player
 	 * @param g The Graphics object to draw on.
+	 * @param frame The view the board is drawn in
+	 * @param pixel The pixel size of the art on the board's squares
 	 */
-	public void draw(Graphics g, CluedoFrame frame){
-		int pixel = frame.getPixelSize();
+	public void draw(Graphics g, GameView frame, int pixel){
 		int x = frame.convertColToX(cPosition);
 		int y = frame.convertRowToY(rPosition);
-		g.drawImage(tokenImg.getScaledInstance(9*pixel, 9*pixel, Image.SCALE_FAST), x-(2*pixel), y-(2*pixel), null);
+		Image token = frame.getScaledImages().get(getToken(), 9*pixel, 9*pixel);
+		g.drawImage(token, x-(2*pixel), y-(2*pixel), null);
 	}
 	
 	/**
@@ -382,6 +345,7 @@ public class Player {
 	 * @return The image of the token representing this player.
 	 */
 	public Image getToken(){
+		chooseImage();
 		return tokenImg;
 	}
 	
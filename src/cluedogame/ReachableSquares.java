@@ -0,0 +1,79 @@
+package cluedogame;
+
+import java.util.BitSet;
+
+import cluedogame.sqaures.Square;
+
+/**
+ * The squares a player can reach from where they stand with a given
+ * number of moves, along with the moves needed to reach each one.
+ * @author Sarah Dobie, Chris Read
+ *
+ */
+public class ReachableSquares {
+
+	private final int cols;
+	private final BitSet reachable; // set for every square that can be reached
+	private final int[] costs; // moves needed to reach each square, or -1
+
+	/**
+	 * Constructor for class ReachableSquares.
+	 * @param cols The number of columns on the board
+	 * @param reachable The indices (row*cols + col) of the squares that can be reached
+	 * @param costs The moves needed to reach each square, or -1 if it
+	 * cannot be reached
+	 */
+	public ReachableSquares(int cols, BitSet reachable, int[] costs){
+		this.cols = cols;
+		this.reachable = reachable;
+		this.costs = costs;
+	}
+
+	/**
+	 * Checks whether the square at the given position can be reached.
+	 * @param row The row of the square
+	 * @param col The column of the square
+	 * @return True iff the square can be reached
+	 */
+	public boolean contains(int row, int col){
+		return reachable.get(row*cols + col);
+	}
+
+	/**
+	 * Checks whether the given square can be reached.
+	 * @param sq The square to check
+	 * @return True iff the square can be reached
+	 */
+	public boolean contains(Square sq){
+		return contains(sq.row(), sq.col());
+	}
+
+	/**
+	 * Gets the number of moves needed to reach the square at the given
+	 * position.
+	 * @param row The row of the square
+	 * @param col The column of the square
+	 * @return The moves needed, or -1 if the square cannot be reached.
+	 */
+	public int cost(int row, int col){
+		return costs[row*cols + col];
+	}
+
+	/**
+	 * Gets the indices of all squares that can be reached. The returned
+	 * set must not be modified.
+	 * @return A BitSet with a bit set for each square that can be reached
+	 */
+	public BitSet bits(){
+		return reachable;
+	}
+
+	/**
+	 * Gets the number of squares that can be reached.
+	 * @return The number of squares that can be reached
+	 */
+	public int size(){
+		return reachable.cardinality();
+	}
+
+}
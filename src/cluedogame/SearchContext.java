@@ -0,0 +1,108 @@
+package cluedogame;
+
+import java.util.Arrays;
+
+/**
+ * The working state of a single path search over a board: the cheapest
+ * known cost to each square, the square it was reached from, which squares
+ * have been expanded, and the fringe of squares still to expand.
+ *
+ * Each entry is stamped with the search it was written in, so starting a
+ * new search is a single increment rather than a sweep over every square.
+ * A context must only be used by one search at a time; Board keeps a pool
+ * of them so that searches can run on several threads at once.
+ * @author Sarah Dobie, Chris Read
+ *
+ */
+class SearchContext {
+
+	private final int[] cost; // cheapest known cost to each square
+	private final int[] parent; // the square each square was reached from
+	private final int[] costStamp; // the search in which each cost was written
+	private final int[] closedStamp; // the search in which each square was expanded
+	private final IntMinHeap fringe;
+	private int epoch; // the current search
+
+	/**
+	 * Constructor for class SearchContext.
+	 * @param squares The number of squares on the board
+	 */
+	public SearchContext(int squares){
+		cost = new int[squares];
+		parent = new int[squares];
+		costStamp = new int[squares];
+		closedStamp = new int[squares];
+		fringe = new IntMinHeap(squares);
+	}
+
+	/**
+	 * Starts a new search, forgetting everything from the last one.
+	 */
+	public void begin(){
+		epoch++;
+		if(epoch == 0){
+			// the stamps have wrapped around, so clear them for real
+			Arrays.fill(costStamp, 0);
+			Arrays.fill(closedStamp, 0);
+			epoch = 1;
+		}
+		fringe.clear();
+	}
+
+	/**
+	 * Gets the cheapest known cost to a square in this search.
+	 * @param index The index of the square
+	 * @return The cost to the square, or Integer.MAX_VALUE if it has not
+	 * been reached.
+	 */
+	public int cost(int index){
+		return costStamp[index] == epoch ? cost[index] : Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Records a cheaper way of reaching a square.
+	 * @param index The index of the square
+	 * @param newCost The cost of reaching the square
+	 * @param from The index of the square it was reached from
+	 */
+	public void reach(int index, int newCost, int from){
+		cost[index] = newCost;
+		parent[index] = from;
+		costStamp[index] = epoch;
+	}
+
+	/**
+	 * Gets the square another square was reached from.
+	 * @param index The index of the square
+	 * @return The index of the previous square in the path
+	 */
+	public int parent(int index){
+		return parent[index];
+	}
+
+	/**
+	 * Checks whether a square has been expanded in this search.
+	 * @param index The index of the square
+	 * @return True iff the square has been expanded
+	 */
+	public boolean isClosed(int index){
+		return closedStamp[index] == epoch;
+	}
+
+	/**
+	 * Marks a square as expanded in this search.
+	 * @param index The index of the square
+	 */
+	public void close(int index){
+		closedStamp[index] = epoch;
+	}
+
+	/**
+	 * Gets the queue of squares still to be expanded.
+	 * @return The fringe of this search
+	 */
+	public IntMinHeap fringe(){
+		return fringe;
+	}
+
+}
@@ -0,0 +1,107 @@
+package cluedogame;
+
+import cluedogame.cards.Card;
+import cluedogame.cards.CardBits;
+
+/**
+ * A suggestion made by a player, and the card shown to them in
+ * response, if any.
+ * @author Sarah Dobie, Chris Read
+ *
+ */
+public class Suggestion {
+
+	private final Player suggester; // the player who made the suggestion
+	private final int character; // the card id of the character suggested
+	private final int weapon; // the card id of the weapon suggested
+	private final int room; // the card id of the room suggested
+	private final int cards; // the bits of the three suggested cards
+	private final Player refuter; // the player who showed a card, or null
+	private final Card card; // the card shown, or null
+
+	/**
+	 * Constructor for class Suggestion.
+	 * @param suggester The player who made the suggestion
+	 * @param character The card id of the character suggested
+	 * @param weapon The card id of the weapon suggested
+	 * @param room The card id of the room the suggestion was made in
+	 * @param refuter The player who showed a card, or null if nobody could
+	 * @param card The card shown, or null if nobody could show one
+	 */
+	public Suggestion(Player suggester, int character, int weapon, int room,
+			Player refuter, Card card){
+		this.suggester = suggester;
+		this.character = character;
+		this.weapon = weapon;
+		this.room = room;
+		this.cards = CardBits.of(character, weapon, room);
+		this.refuter = refuter;
+		this.card = card;
+	}
+
+	/**
+	 * Gets the player who made the suggestion.
+	 * @return The player who made the suggestion
+	 */
+	public Player getSuggester(){
+		return suggester;
+	}
+
+	/**
+	 * Gets the character suggested.
+	 * @return The name of the character suggested
+	 */
+	public String getCharacter(){
+		return CardBits.name(character);
+	}
+
+	/**
+	 * Gets the weapon suggested.
+	 * @return The name of the weapon suggested
+	 */
+	public String getWeapon(){
+		return CardBits.name(weapon);
+	}
+
+	/**
+	 * Gets the room the suggestion was made in.
+	 * @return The name of the room suggested
+	 */
+	public String getRoom(){
+		return CardBits.name(room);
+	}
+
+	/**
+	 * Gets the suggested character, weapon and room as a set of card bits.
+	 * @return The bits of the three suggested cards
+	 * @see CardBits
+	 */
+	public int getCardBits(){
+		return cards;
+	}
+
+	/**
+	 * Gets the player who showed a card in response.
+	 * @return The player who showed a card, or null if nobody could
+	 */
+	public Player getRefuter(){
+		return refuter;
+	}
+
+	/**
+	 * Gets the card shown in response.
+	 * @return The card shown, or null if nobody could show one
+	 */
+	public Card getCard(){
+		return card;
+	}
+
+	/**
+	 * Checks whether anybody could show a card.
+	 * @return True iff a card was shown
+	 */
+	public boolean isRefuted(){
+		return card != null;
+	}
+
+}
@@ -0,0 +1,147 @@
+package cluedogame.cards;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import cluedogame.GameOfCluedo;
+
+/**
+ * Gives every card a bit in an int, so that a set of cards can be held
+ * in a single int. A card's bit is its identifier: characters use bits
+ * 0-5, weapons bits 10-15 and rooms bits 20-28.
+ * @author Sarah Dobie, Chris Read
+ *
+ */
+public class CardBits {
+
+	// The bits of every card of each kind
+	public static final int CHARACTERS = 0x3F;
+	public static final int WEAPONS = 0x3F << 10;
+	public static final int ROOMS = 0x1FF << 20;
+	public static final int ALL = CHARACTERS | WEAPONS | ROOMS;
+	public static final int COUNT = 29; // one more than the highest identifier
+
+	private static final String[] NAMES = new String[COUNT]; // the name of the card with each id
+	private static final Map<String, Integer> IDS = new HashMap<String, Integer>(); // the id of each card
+
+	static {
+		// characters
+		register(GameOfCluedo.SCARLETT, 0);
+		register(GameOfCluedo.MUSTARD, 1);
+		register(GameOfCluedo.GREEN, 2);
+		register(GameOfCluedo.PLUM, 3);
+		register(GameOfCluedo.PEACOCK, 4);
+		register(GameOfCluedo.WHITE, 5);
+		// weapons
+		register(GameOfCluedo.DAGGER, 10);
+		register(GameOfCluedo.REVOLVER, 11);
+		register(GameOfCluedo.CANDLESTICK, 12);
+		register(GameOfCluedo.LEAD_PIPE, 13);
+		register(GameOfCluedo.SPANNER, 14);
+		register(GameOfCluedo.ROPE, 15);
+		// rooms
+		register(GameOfCluedo.DINING_ROOM, 20);
+		register(GameOfCluedo.KITCHEN, 21);
+		register(GameOfCluedo.BALL_ROOM, 22);
+		register(GameOfCluedo.CONSERVATORY, 23);
+		register(GameOfCluedo.BILLIARD_ROOM, 24);
+		register(GameOfCluedo.LIBRARY, 25);
+		register(GameOfCluedo.STUDY, 26);
+		register(GameOfCluedo.HALL, 27);
+		register(GameOfCluedo.LOUNGE, 28);
+	}
+
+	private static void register(String name, int id){
+		NAMES[id] = name;
+		IDS.put(name, id);
+	}
+
+	/**
+	 * Gets the identifier of the card with the given name.
+	 * @param name The name of a character, weapon or room
+	 * @return The card's identifier
+	 */
+	public static int id(String name){
+		Integer id = IDS.get(name);
+		if(id == null){
+			throw new IllegalArgumentException("No card named "+name);
+		}
+		return id;
+	}
+
+	/**
+	 * Gets the name of the card with the given identifier.
+	 * @param id The card's identifier
+	 * @return The name of the card
+	 */
+	public static String name(int id){
+		return NAMES[id];
+	}
+
+	/**
+	 * Gets the bit of a card.
+	 * @param card The card
+	 * @return An int with only the card's bit set
+	 */
+	public static int bit(Card card){
+		return 1 << card.getID();
+	}
+
+	/**
+	 * Gets the bit of the card with the given name.
+	 * @param name The name of a character, weapon or room
+	 * @return An int with only the card's bit set
+	 */
+	public static int bit(String name){
+		return 1 << id(name);
+	}
+
+	/**
+	 * Gets the bits of a character, weapon and room together, such as
+	 * the cards in a suggestion.
+	 * @param character The name of the character
+	 * @param weapon The name of the weapon
+	 * @param room The name of the room
+	 * @return An int with the three cards' bits set
+	 */
+	public static int of(String character, String weapon, String room){
+		return bit(character) | bit(weapon) | bit(room);
+	}
+
+	/**
+	 * Gets the bits of a character, weapon and room together, given
+	 * their identifiers.
+	 * @param character The identifier of the character
+	 * @param weapon The identifier of the weapon
+	 * @param room The identifier of the room
+	 * @return An int with the three cards' bits set
+	 */
+	public static int of(int character, int weapon, int room){
+		return (1 << character) | (1 << weapon) | (1 << room);
+	}
+
+	/**
+	 * Gets the names of the cards in a set.
+	 * @param cards The bits of the cards
+	 * @return The names of the cards, in order of identifier
+	 */
+	public static String[] names(int cards){
+		String[] names = new String[Integer.bitCount(cards)];
+		for(int i=0; i<names.length; i++){
+			int id = Integer.numberOfTrailingZeros(cards);
+			names[i] = NAMES[id];
+			cards &= cards - 1; // clear the lowest bit
+		}
+		return names;
+	}
+
+	/**
+	 * Checks whether a set holds exactly one card.
+	 * @param cards The bits of the cards
+	 * @return True iff exactly one bit is set
+	 */
+	public static boolean isSingle(int cards){
+		return cards != 0 && (cards & (cards - 1)) == 0;
+	}
+
+}
@@ -0,0 +1,51 @@
+package cluedogame.sim;
+
+import cluedogame.GameOfCluedo;
+import cluedogame.Player;
+import cluedogame.ReachableSquares;
+import cluedogame.sqaures.Square;
+
+/**
+ * Decides what a computer player does on its turn. A strategy may be
+ * shared by several players and several games at once, so it should
+ * keep any memory on the Player rather than in itself.
+ * @author Sarah Dobie, Chris Read
+ *
+ */
+public interface BotStrategy {
+
+	/**
+	 * Gets the name of this strategy, used when reporting results.
+	 * @return The name of this strategy
+	 */
+	public String getName();
+
+	/**
+	 * Chooses where the player should move this turn.
+	 * @param game The game being played
+	 * @param player The player whose turn it is
+	 * @param reachable The squares the player can move to with their roll
+	 * @return The square to move to, or null to stay put.
+	 */
+	public Square chooseDestination(GameOfCluedo game, Player player, ReachableSquares reachable);
+
+	/**
+	 * Chooses a suggestion to make from the room the player is in.
+	 * @param game The game being played
+	 * @param player The player whose turn it is
+	 * @param room The card id of the room the player is in
+	 * @return The card ids of the character and weapon to suggest, in that
+	 * order, or null to make no suggestion.
+	 */
+	public int[] chooseSuggestion(GameOfCluedo game, Player player, int room);
+
+	/**
+	 * Chooses whether to make an accusation at the end of the turn.
+	 * @param game The game being played
+	 * @param player The player whose turn it is
+	 * @return The card ids of the character, weapon and room to accuse, in
+	 * that order, or null to make no accusation.
+	 */
+	public int[] chooseAccusation(GameOfCluedo game, Player player);
+
+}
@@ -0,0 +1,44 @@
+package cluedogame.sim;
+
+import java.util.Random;
+
+import cluedogame.Deduction;
+import cluedogame.GameOfCluedo;
+import cluedogame.Player;
+import cluedogame.cards.CardBits;
+
+/**
+ * A strategy which heads for rooms like the room seeker, but keeps track
+ * of who could be holding what. It only visits and suggests cards that
+ * might still be murder cards, and accuses as soon as its deductions
+ * leave one candidate of each kind.
+ * @author Sarah Dobie, Chris Read
+ *
+ */
+public class DeductionBot extends RoomSeekerBot {
+
+	@Override
+	public String getName() {
+		return "Deduction";
+	}
+
+	@Override
+	protected int targetRooms(Player player) {
+		return player.getDeduction().candidates() & CardBits.ROOMS;
+	}
+
+	@Override
+	public int[] chooseSuggestion(GameOfCluedo game, Player player, int room) {
+		int candidates = player.getDeduction().candidates();
+		Random random = game.getRandom();
+		return new int[]{pick(candidates & CardBits.CHARACTERS, random),
+				pick(candidates & CardBits.WEAPONS, random)};
+	}
+
+	@Override
+	public int[] chooseAccusation(GameOfCluedo game, Player player) {
+		Deduction deduction = player.getDeduction();
+		return deduction.solution();
+	}
+
+}
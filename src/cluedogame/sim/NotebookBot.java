@@ -0,0 +1,60 @@
+package cluedogame.sim;
+
+import java.util.Random;
+
+import cluedogame.GameOfCluedo;
+import cluedogame.Player;
+import cluedogame.cards.CardBits;
+
+/**
+ * A strategy which, like a player ticking off their notebook, only
+ * suggests cards it has not seen yet, and accuses as soon as there is
+ * just one unseen card of each kind. Subclasses decide where to move.
+ * @author Sarah Dobie, Chris Read
+ *
+ */
+public abstract class NotebookBot implements BotStrategy {
+
+	@Override
+	public int[] chooseSuggestion(GameOfCluedo game, Player player, int room) {
+		Random random = game.getRandom();
+		return new int[]{pick(unseen(player, CardBits.CHARACTERS), random),
+				pick(unseen(player, CardBits.WEAPONS), random)};
+	}
+
+	@Override
+	public int[] chooseAccusation(GameOfCluedo game, Player player) {
+		int characters = unseen(player, CardBits.CHARACTERS);
+		int weapons = unseen(player, CardBits.WEAPONS);
+		int rooms = unseen(player, CardBits.ROOMS);
+		if(CardBits.isSingle(characters) && CardBits.isSingle(weapons) && CardBits.isSingle(rooms)){
+			return new int[]{Integer.numberOfTrailingZeros(characters),
+					Integer.numberOfTrailingZeros(weapons), Integer.numberOfTrailingZeros(rooms)};
+		}
+		return null;
+	}
+
+	/**
+	 * Finds which of the given cards the player has not seen.
+	 * @param player The player whose notebook to check
+	 * @param cards The bits of the cards to check
+	 * @return The bits of the cards the player has not seen
+	 */
+	protected static int unseen(Player player, int cards){
+		return cards & ~player.getSeenBits();
+	}
+
+	/**
+	 * Picks a random card from a set.
+	 * @param cards The bits of the cards to pick from
+	 * @param random The source of randomness
+	 * @return The card id of a random card from the set
+	 */
+	protected static int pick(int cards, Random random){
+		for(int skip = random.nextInt(Integer.bitCount(cards)); skip > 0; skip--){
+			cards &= cards - 1; // clear the lowest bit
+		}
+		return Integer.numberOfTrailingZeros(cards);
+	}
+
+}
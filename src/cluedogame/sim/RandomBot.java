@@ -0,0 +1,35 @@
+package cluedogame.sim;
+
+import java.util.BitSet;
+
+import cluedogame.Board;
+import cluedogame.GameOfCluedo;
+import cluedogame.Player;
+import cluedogame.ReachableSquares;
+import cluedogame.sqaures.Square;
+
+/**
+ * A strategy which wanders to a random square within reach each turn.
+ * @author Sarah Dobie, Chris Read
+ *
+ */
+public class RandomBot extends NotebookBot {
+
+	@Override
+	public String getName() {
+		return "Random";
+	}
+
+	@Override
+	public Square chooseDestination(GameOfCluedo game, Player player, ReachableSquares reachable) {
+		BitSet bits = reachable.bits();
+		int choice = game.getRandom().nextInt(reachable.size());
+		int index = bits.nextSetBit(0);
+		for(int i=0; i<choice; i++){
+			index = bits.nextSetBit(index+1);
+		}
+		Board board = game.getBoard();
+		return board.squareAt(index / board.getCols(), index % board.getCols());
+	}
+
+}
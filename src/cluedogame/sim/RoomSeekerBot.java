@@ -0,0 +1,73 @@
+package cluedogame.sim;
+
+import java.util.BitSet;
+import java.util.List;
+
+import cluedogame.Board;
+import cluedogame.GameOfCluedo;
+import cluedogame.Player;
+import cluedogame.ReachableSquares;
+import cluedogame.cards.CardBits;
+import cluedogame.sqaures.RoomSquare;
+import cluedogame.sqaures.Square;
+
+/**
+ * A strategy which heads for the nearest room it has not yet seen the
+ * card of, so that it can suggest that room.
+ * @author Sarah Dobie, Chris Read
+ *
+ */
+public class RoomSeekerBot extends NotebookBot {
+
+	@Override
+	public String getName() {
+		return "Room seeker";
+	}
+
+	@Override
+	public Square chooseDestination(GameOfCluedo game, Player player, ReachableSquares reachable) {
+		Board board = game.getBoard();
+		int rooms = targetRooms(player);
+		int[] roomIds = new int[Integer.bitCount(rooms)];
+		Square[] targets = new Square[roomIds.length];
+		for(int t=0; t<targets.length; t++){
+			roomIds[t] = Integer.numberOfTrailingZeros(rooms);
+			rooms &= rooms - 1; // clear the lowest bit
+			List<RoomSquare> squares = board.roomSquares(roomIds[t]);
+			targets[t] = squares.isEmpty() ? null : squares.get(0);
+		}
+		Square best = null;
+		int bestMoves = Integer.MAX_VALUE;
+		// choose the square in reach that is closest to an unseen room
+		BitSet bits = reachable.bits();
+		for(int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i+1)){
+			Square sq = board.squareAt(i / board.getCols(), i % board.getCols());
+			for(int t=0; t<targets.length; t++){
+				if(targets[t] == null){
+					continue; // the room has no squares on this board
+				}
+				int moves;
+				if(sq instanceof RoomSquare){
+					moves = ((RoomSquare)sq).getRoomId() == roomIds[t] ? 0 : Integer.MAX_VALUE;
+				} else {
+					moves = board.movesBetween(sq, targets[t]);
+				}
+				if(moves >= 0 && moves < bestMoves){
+					best = sq;
+					bestMoves = moves;
+				}
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Chooses the rooms worth heading for.
+	 * @param player The player whose turn it is
+	 * @return The bits of the rooms the player has not seen
+	 */
+	protected int targetRooms(Player player){
+		return unseen(player, CardBits.ROOMS);
+	}
+
+}
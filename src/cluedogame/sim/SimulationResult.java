@@ -0,0 +1,116 @@
+package cluedogame.sim;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The tally of a batch of simulated games: how often each strategy
+ * played and won, and how long games took to be solved.
+ * @author Sarah Dobie, Chris Read
+ *
+ */
+public class SimulationResult {
+
+	private int games; // games played
+	private int solved; // games ending in a correct accusation
+	private long turnsToSolve; // total turns taken by solved games
+	private Map<String, Integer> seats = new LinkedHashMap<String, Integer>(); // players per strategy
+	private Map<String, Integer> wins = new LinkedHashMap<String, Integer>(); // wins per strategy
+
+	/**
+	 * Records the result of one game.
+	 * @param strategies The strategy playing in each seat
+	 * @param winner The strategy that won, or null if nobody did
+	 * @param turns The number of turns the game lasted
+	 */
+	public void record(BotStrategy[] strategies, BotStrategy winner, int turns){
+		games++;
+		for(BotStrategy s : strategies){
+			add(seats, s.getName(), 1);
+			add(wins, s.getName(), 0);
+		}
+		if(winner != null){
+			solved++;
+			turnsToSolve += turns;
+			add(wins, winner.getName(), 1);
+		}
+	}
+
+	/**
+	 * Adds the tally of another batch of games to this one.
+	 * @param other The tally to add
+	 */
+	public void merge(SimulationResult other){
+		games += other.games;
+		solved += other.solved;
+		turnsToSolve += other.turnsToSolve;
+		for(Map.Entry<String, Integer> e : other.seats.entrySet()){
+			add(seats, e.getKey(), e.getValue());
+		}
+		for(Map.Entry<String, Integer> e : other.wins.entrySet()){
+			add(wins, e.getKey(), e.getValue());
+		}
+	}
+
+	/**
+	 * Adds to one strategy's count in a tally.
+	 */
+	private static void add(Map<String, Integer> tally, String name, int amount){
+		Integer count = tally.get(name);
+		tally.put(name, (count == null ? 0 : count) + amount);
+	}
+
+	/**
+	 * Gets the number of games played.
+	 * @return The number of games played
+	 */
+	public int getGames(){
+		return games;
+	}
+
+	/**
+	 * Gets the number of games won by a correct accusation.
+	 * @return The number of solved games
+	 */
+	public int getSolved(){
+		return solved;
+	}
+
+	/**
+	 * Gets the average number of turns taken to solve a game.
+	 * @return The mean turns of the solved games, or 0 if none were solved
+	 */
+	public double getAverageTurnsToSolve(){
+		return solved == 0 ? 0 : (double)turnsToSolve / solved;
+	}
+
+	/**
+	 * Gets the fraction of its seats that a strategy won.
+	 * @param name The name of the strategy
+	 * @return The strategy's wins divided by the players it controlled
+	 */
+	public double getWinRate(String name){
+		Integer played = seats.get(name);
+		Integer won = wins.get(name);
+		return played == null || played == 0 ? 0 : (double)won / played;
+	}
+
+	/**
+	 * Gets the names of all strategies that played.
+	 * @return The names of the strategies, in the order they first played
+	 */
+	public Iterable<String> getStrategies(){
+		return seats.keySet();
+	}
+
+	/**
+	 * Gets the number of players a strategy controlled.
+	 * @param name The name of the strategy
+	 * @return The number of seats the strategy played
+	 */
+	public int getSeats(String name){
+		Integer played = seats.get(name);
+		return played == null ? 0 : played;
+	}
+
+}
@@ -0,0 +1,179 @@
+package cluedogame.sim;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import cluedogame.Board;
+import cluedogame.GameOfCluedo;
+import cluedogame.Player;
+import cluedogame.sqaures.Square;
+
+/**
+ * Plays many complete games of Cluedo between computer players, spread
+ * over every core, and tallies how each strategy fares. All games share
+ * one Board, which is only ever read.
+ * @author Sarah Dobie, Chris Read
+ *
+ */
+public class Simulator {
+
+	public static final int MAX_TURNS = 1000; // games longer than this are abandoned
+	private static final int BATCH_SIZE = 16; // games played by one task without splitting
+
+	private Board board; // the board shared by every game
+	private List<BotStrategy> strategies; // the strategies taking turns to fill the seats
+	private int numPlayers;
+	private long seed; // game i is played with the seed seed+i
+
+	/**
+	 * Constructor for class Simulator.
+	 * @param board The board to play every game on
+	 * @param strategies The strategies to play. Seats are filled with them
+	 * in turn, starting from a different one each game.
+	 * @param numPlayers The number of players in each game (2-6)
+	 * @param seed The seed from which every game's randomness is derived
+	 */
+	public Simulator(Board board, List<BotStrategy> strategies, int numPlayers, long seed){
+		this.board = board;
+		this.strategies = strategies;
+		this.numPlayers = numPlayers;
+		this.seed = seed;
+	}
+
+	/**
+	 * Plays a number of games in parallel.
+	 * @param games The number of games to play
+	 * @param pool The pool to run the games in
+	 * @return The tally of all the games
+	 */
+	public SimulationResult run(int games, ForkJoinPool pool){
+		return pool.invoke(new GameBatch(0, games));
+	}
+
+	/**
+	 * Plays a single complete game.
+	 * @param index The number of the game, which decides its seed and seating
+	 * @param result The tally to record the game in
+	 */
+	public void playGame(int index, SimulationResult result){
+		GameOfCluedo game = new GameOfCluedo(board, new Random(seed + index));
+		BotStrategy[] seats = new BotStrategy[numPlayers];
+		Map<Player, BotStrategy> bots = new HashMap<Player, BotStrategy>();
+		for(int i=0; i<numPlayers; i++){
+			seats[i] = strategies.get((i + index) % strategies.size());
+			Player p = new Player(GameOfCluedo.CHARACTERS[i], seats[i].getName());
+			game.addPlayer(p);
+			bots.put(p, seats[i]);
+		}
+		game.dealCards();
+		// play turns until somebody solves the murder
+		int turns = 0;
+		while(!game.isOver() && turns < MAX_TURNS){
+			Player player = game.nextTurn();
+			turns++;
+			playTurn(game, player, bots.get(player));
+		}
+		Player winner = game.getWinner();
+		result.record(seats, winner == null ? null : bots.get(winner), turns);
+	}
+
+	/**
+	 * Lets a strategy take a player's turn: move, suggest, then maybe accuse.
+	 * @param game The game being played
+	 * @param player The player whose turn it is
+	 * @param bot The strategy controlling the player
+	 */
+	private void playTurn(GameOfCluedo game, Player player, BotStrategy bot){
+		Square start = board.squareAt(player.row(), player.col());
+		Square goal = bot.chooseDestination(game, player,
+				game.getPaths().reachableSquares(start, game.getRoll()));
+		if(goal != null && goal != start){
+			game.movePlayer(player, goal);
+		}
+		int room = game.roomIdOf(player);
+		if(room >= 0){
+			int[] suggestion = bot.chooseSuggestion(game, player, room);
+			if(suggestion != null){
+				game.suggest(suggestion[0], suggestion[1]);
+			}
+		}
+		int[] accusation = bot.chooseAccusation(game, player);
+		if(accusation != null){
+			game.accuse(player, accusation[0], accusation[1], accusation[2]);
+		}
+	}
+
+	/**
+	 * A task which plays a range of games, splitting large ranges in half.
+	 */
+	private class GameBatch extends RecursiveTask<SimulationResult> {
+		private static final long serialVersionUID = 1L;
+		private int from; // the first game to play
+		private int to; // one past the last game to play
+
+		public GameBatch(int from, int to){
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected SimulationResult compute() {
+			if(to - from <= BATCH_SIZE){
+				SimulationResult result = new SimulationResult();
+				for(int i=from; i<to; i++){
+					playGame(i, result);
+				}
+				return result;
+			}
+			int mid = (from + to) >>> 1;
+			GameBatch left = new GameBatch(from, mid);
+			left.fork();
+			SimulationResult result = new GameBatch(mid, to).compute();
+			result.merge(left.join());
+			return result;
+		}
+	}
+
+	/**
+	 * Runs a simulation from the command line and prints a report.
+	 * Must be run from the folder containing boardFile.txt.
+	 * @param args The number of games (default 10000), the number of
+	 * players per game (default 4), the number of threads (default
+	 * one per core) and the board file (default boardFile.txt).
+	 */
+	public static void main(String[] args) {
+		int games = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+		int players = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+		int threads = args.length > 2 ? Integer.parseInt(args[2])
+				: Runtime.getRuntime().availableProcessors();
+		Board board = args.length > 3 ? new Board(new File(args[3])) : Board.standard();
+
+		List<BotStrategy> strategies = new ArrayList<BotStrategy>();
+		strategies.add(new RandomBot());
+		strategies.add(new RoomSeekerBot());
+		strategies.add(new DeductionBot());
+		Simulator sim = new Simulator(board, strategies, players, System.nanoTime());
+
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		long start = System.nanoTime();
+		SimulationResult result = sim.run(games, pool);
+		double seconds = (System.nanoTime() - start) / 1e9;
+		pool.shutdown();
+
+		System.out.printf("Played %d games of %d players in %.2fs on %d threads (%.0f games/sec)%n",
+				result.getGames(), players, seconds, threads, result.getGames() / seconds);
+		System.out.printf("Solved %d games in %.1f turns on average%n",
+				result.getSolved(), result.getAverageTurnsToSolve());
+		for(String name : result.getStrategies()){
+			System.out.printf("%-12s %6d players, %5.1f%% won%n",
+					name, result.getSeats(name), 100*result.getWinRate(name));
+		}
+	}
+
+}
@@ -1,5 +1,7 @@
 package cluedogame.sqaures;
 
+import cluedogame.cards.CardBits;
+
 /**
  * Represents a room which a player may enter.
  * @author Sarah Dobie, Chris Read.
@@ -9,17 +11,30 @@ public class DoorSquare extends Square {
 	
 	public enum Dir{
 		NORTH,SOUTH,EAST,WEST;
+		
+		/**
+		 * Gets the opposite of this direction.
+		 * @return The direction facing the other way
+		 */
+		public Dir opposite(){
+			switch(this){
+			case NORTH : return SOUTH;
+			case SOUTH : return NORTH;
+			case EAST : return WEST;
+			default : return EAST;
+			}
+		}
 	}
 	
-	private String room;
-	private Dir enterDir; // the direction which the player can enter going in
+	private final int room; // the card id of the room the door opens to
+	private final Dir enterDir; // the direction which the player can enter going in
 	
 	/**
 	 * Constructor for class DoorSquare.
-	 * @param room The room being represented
+	 * @param room The card id of the room being represented
 	 * @param enterDir The direction in which the door can be entered.
 	 */
-	public DoorSquare(String room, Dir enterDir, int row, int col){
+	public DoorSquare(int room, Dir enterDir, int row, int col){
 		super(true, row, col);
 		this.room = room;
 		this.enterDir = enterDir;
@@ -30,6 +45,14 @@ public class DoorSquare extends Square {
 	 * @return The name of the room this door opens to.
 	 */
 	public String getRoom(){
+		return CardBits.name(room);
+	}
+	
+	/**
+	 * Gets the room this door opens to.
+	 * @return The card id of the room this door opens to.
+	 */
+	public int getRoomId(){
 		return room;
 	}
 	
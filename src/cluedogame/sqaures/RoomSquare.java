@@ -1,14 +1,16 @@
 package cluedogame.sqaures;
 
+import cluedogame.cards.CardBits;
+
 public class RoomSquare extends Square {
 	
-	private String room;
+	private final int room; // the card id of the room
 
 	/**
 	 * Constructor for class RoomSquare
-	 * @param room The room this square is in
+	 * @param room The card id of the room this square is in
 	 */
-	public RoomSquare(String room, int row, int col) {
+	public RoomSquare(int room, int row, int col) {
 		super(true, row, col);
 		this.room = room;
 	}
@@ -18,6 +20,14 @@ public class RoomSquare extends Square {
 	 * @return The room which this square is in
 	 */
 	public String getRoom() {
+		return CardBits.name(room);
+	}
+
+	/**
+	 * Returns the room which this square is in.
+	 * @return The card id of the room which this square is in
+	 */
+	public int getRoomId() {
 		return room;
 	}
 	
@@ -1,7 +1,6 @@
 package cluedogame.sqaures;
 
-import cluedogame.Board;
-import cluedogame.GameOfCluedo;
+import cluedogame.cards.CardBits;
 
 /**
  * Represents a 'secret passage' on the board.
@@ -10,75 +9,55 @@ import cluedogame.GameOfCluedo;
  */
 public class ShortcutSquare extends Square {
 	
-	private String startRoom; // the room this shortcut starts in
-	private String toRoom; // the room the shortcut goes to
-	private int toRow; // the row this shortcut goes to
-	private int toCol; // the col this shortcut goes to
+	private final int startRoom; // the card id of the room this shortcut starts in
+	private final int toRoom; // the card id of the room the shortcut goes to
+	private final int toRow; // the row this shortcut goes to
+	private final int toCol; // the col this shortcut goes to
 	
 	/**
 	 * Constructor for class ShortcutSquare.
-	 * @param toRoom The room the shortcut goes to
-	 * @param board The board the shortcut is on
+	 * @param startRoom The card id of the room the shortcut starts in
+	 * @param toRoom The card id of the room the shortcut goes to
+	 * @param toRow The row of the square the shortcut goes to
+	 * @param toCol The column of the square the shortcut goes to
 	 */
-	public ShortcutSquare(String toRoom, Board board, int row, int col){
+	public ShortcutSquare(int startRoom, int toRoom, int toRow, int toCol, int row, int col){
 		super(true, row, col);
+		this.startRoom = startRoom;
 		this.toRoom = toRoom;
-		this.startRoom = findStartRoom();
-		toRow = findRow(toRoom);
-		toCol = findCol(toRoom);
+		this.toRow = toRow;
+		this.toCol = toCol;
 	}
 	
 	/**
-	 * Finds the room in which this shortcut begins.
-	 * @return The room in which this shortcut begins
+	 * Gets the room this shortcut goes to.
+	 * @return The name of the room at the other end of this shortcut
 	 */
-	private String findStartRoom() {
-		switch(toRoom){
-		case GameOfCluedo.KITCHEN : return GameOfCluedo.STUDY;
-		case GameOfCluedo.STUDY : return GameOfCluedo.KITCHEN;
-		case GameOfCluedo.LOUNGE : return GameOfCluedo.CONSERVATORY;
-		case GameOfCluedo.CONSERVATORY : return GameOfCluedo.LOUNGE;
-		default : return null;
-		}
+	public String toRoom() {
+		return CardBits.name(toRoom);
 	}
-
+	
 	/**
-	 * Finds the row of the shortcut in the given room
-	 * @param room The room with the shortcut
-	 * @return The row of the shortcut in the given room,
-	 * or -1 if there is none.
+	 * Gets the room this shortcut goes to.
+	 * @return The card id of the room at the other end of this shortcut
 	 */
-	private static int findRow(String room) {
-		switch(room){
-		case GameOfCluedo.KITCHEN : return 1;
-		case GameOfCluedo.STUDY : return 21;
-		case GameOfCluedo.LOUNGE : return 19;
-		case GameOfCluedo.CONSERVATORY : return 5;
-		default : return -1;
-		}
+	public int toRoomId() {
+		return toRoom;
 	}
-
+	
 	/**
-	 * Finds the column of the shortcut in the given room
-	 * @param room The room with the shortcut
-	 * @return The column of the shortcut in the given room, or
-	 * -1 if there is none.
+	 * Gets the room this square starts in.
+	 * @return The name of the room this square starts in
 	 */
-	private static int findCol(String room) {
-		switch(room){
-		case GameOfCluedo.KITCHEN : return 5;
-		case GameOfCluedo.STUDY : return 23;
-		case GameOfCluedo.LOUNGE : return 0;
-		case GameOfCluedo.CONSERVATORY : return 22;
-		default : return -1;
-		}
+	public String startRoom() {
+		return CardBits.name(startRoom);
 	}
-
+	
 	/**
 	 * Gets the room this square starts in.
-	 * @return The name of the room this square starts in
+	 * @return The card id of the room this square starts in
 	 */
-	public String startRoom() {
+	public int startRoomId() {
 		return startRoom;
 	}
 
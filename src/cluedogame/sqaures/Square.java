@@ -7,14 +7,9 @@ package cluedogame.sqaures;
  */
 public abstract class Square {
 	
-	protected boolean steppable; // true if a player can step on the square
-	protected int row;
-	protected int col;
-	
-	// A* search flags
-	private Square from;
-	private double cost;
-	private boolean visited;
+	protected final boolean steppable; // true if a player can step on the square
+	protected final int row;
+	protected final int col;
 	
 	/**
 	 * Constructor for class Square.
@@ -53,31 +48,4 @@ public abstract class Square {
 		return col;
 	}
 
-	// A* search getters/setters
-	
-	public Square getFrom() {
-		return from;
-	}
-
-	public void setFrom(Square from) {
-		this.from = from;
-	}
-
-	public double getCost() {
-		return cost;
-	}
-
-	public void setCost(double cost) {
-		this.cost = cost;
-	}
-
-	public boolean isVisited() {
-		return visited;
-	}
-
-	public void setVisited(boolean visited) {
-		this.visited = visited;
-	}
-	
-	
 }